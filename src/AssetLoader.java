@@ -0,0 +1,226 @@
+import java.awt.image.*;
+import java.io.*;
+import java.nio.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+/**
+ * Reads the images used by the game on a small pool of worker threads.
+ * Each call to <code>load</code> returns immediately, so the files for every
+ * country can be read at the same time while the rest of the game is being set up.
+ * The compressed bytes are handed to an ImageCache, which decodes them when they are needed.
+ * Assets are taken from the memory-mapped AssetPack when there is one.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class AssetLoader
+{
+  /**
+   * Receives progress updates while the loader is waiting for its images.
+   */
+  public interface ProgressListener
+  {
+    /**
+     * Called every time an image has finished loading.
+     *
+     * @param done int the number of images which have finished.
+     * @param total int the number of images which were requested.
+     */
+    void progress (int done, int total);
+  }
+  /**
+   * The largest number of worker threads the loader will start.
+   */
+  private static final int MAX_THREADS = 4;
+  /**
+   * The loader shared by every class in the game.
+   */
+  private static AssetLoader shared;
+  /**
+   * Holds the worker threads which read the images.
+   */
+  private final ExecutorService pool;
+  /**
+   * Hands back the finished loads in the order in which they complete.
+   */
+  private final CompletionService<String> completion;
+  /**
+   * Holds the number of loads requested which have not been waited for yet.
+   */
+  private final AtomicInteger outstanding = new AtomicInteger ();
+  /**
+   * Returns the loader shared by the whole game, creating it if needed.
+   *
+   * @return AssetLoader the shared loader.
+   */
+  public static synchronized AssetLoader getShared ()
+  {
+    if (shared == null)
+      shared = new AssetLoader (Math.min (MAX_THREADS, Runtime.getRuntime ().availableProcessors ()));
+    return shared;
+  }
+  /**
+   * Reads the whole contents of a file.
+   *
+   * Try block makes sure the file is closed.
+   *
+   * @param path String the location of the file.
+   * @return byte[] the bytes of the file.
+   * @throws IOException if the file could not be read.
+   */
+  public static byte[] readBytes (String path) throws IOException
+  {
+    File file = new File (path);
+    DataInputStream in = new DataInputStream (new FileInputStream (file));
+    try
+    {
+      byte[] data = new byte [(int) file.length ()];
+      in.readFully (data);
+      return data;
+    }
+    finally
+    {
+      in.close ();
+    }
+  }
+  /**
+   * Returns the compressed bytes of an asset. If the asset is in the AssetPack,
+   * this is a slice of the memory-mapped pack and nothing is read or copied;
+   * otherwise the asset's own file is read.
+   *
+   * If statement checks whether the asset is in the pack.
+   *
+   * @param path String the path of the asset, such as "pics/map.jpg".
+   * @return ByteBuffer the bytes of the asset.
+   * @throws IOException if the asset could not be read.
+   */
+  public static ByteBuffer readAsset (String path) throws IOException
+  {
+    AssetPack pack = AssetPack.getShared ();
+    if (pack != null)
+    {
+      ByteBuffer b = pack.slice (path);
+      if (b != null)
+        return b;
+    }
+    return ByteBuffer.wrap (readBytes (path));
+  }
+  /**
+   * Reads and decodes an image on the calling thread, from the AssetPack if it is there.
+   *
+   * @param path String the path of the image, such as "pics/map.jpg".
+   * @return BufferedImage the decoded image.
+   * @throws IOException if the image could not be read or decoded.
+   */
+  public static BufferedImage readImage (String path) throws IOException
+  {
+    return decode (path, readAsset (path));
+  }
+  /**
+   * Decodes an image from its compressed bytes on the calling thread.
+   * Uses the PixelCache on the disk if it is turned on.
+   *
+   * @param path String the path the image is known by (used in error messages).
+   * @param data ByteBuffer the compressed bytes of the image.
+   * @return BufferedImage the decoded image.
+   * @throws IOException if the bytes could not be decoded.
+   */
+  public static BufferedImage decode (String path, ByteBuffer data) throws IOException
+  {
+    PixelCache pixels = PixelCache.getShared ();
+    BufferedImage i = pixels != null ? pixels.decode (path, data) : AssetPack.read (data);
+    if (i == null)
+      throw new IOException ("Unsupported image format: " + path);
+    return i;
+  }
+  /**
+   * Starts reading the image at <code>path</code> into <code>cache</code> on a worker thread.
+   *
+   * @param path String the location of the image file.
+   * @param cache ImageCache the cache which will decode the image when it is needed.
+   * @return String the path, so the call can be used where the path is needed.
+   */
+  public String load (final String path, final ImageCache cache)
+  {
+    outstanding.incrementAndGet ();
+    completion.submit (new Callable<String> ()
+    {
+      public String call () throws IOException
+      {
+        cache.putCompressed (path, readAsset (path));
+        return path;
+      }
+    });
+    return path;
+  }
+  /**
+   * Runs a task on the loader's worker threads without counting it as part of startup.
+   *
+   * @param task Callable the task to run.
+   * @return Future the result of the task.
+   */
+  public <T> Future<T> submit (Callable<T> task)
+  {
+    return pool.submit (task);
+  }
+  /**
+   * Blocks until every image requested so far has been read (or has failed). An image which
+   * could not be read is reported on the error stream, and will be missing from the game.
+   * The listener is told about each image as soon as it is done, so startup only
+   * lasts as long as the slowest image instead of all of them added together.
+   *
+   * While loop waits for the outstanding images one at a time.
+   * Try block waits for the next image, and reports it if it failed.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> total </b> int - the number of images being waited for.
+   *
+   * @param listener ProgressListener told about each finished image (may be null).
+   */
+  public void awaitAll (ProgressListener listener)
+  {
+    int total = outstanding.get ();
+    int done = 0;
+    while (done < total)
+    {
+      try
+      {
+        completion.take ().get ();
+      }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread ().interrupt ();
+        return;
+      }
+      catch (ExecutionException e)
+      {
+        e.getCause ().printStackTrace ();
+      }
+      outstanding.decrementAndGet ();
+      done++;
+      if (listener != null)
+        listener.progress (done, total);
+    }
+  }
+  /**
+   * Creates a loader with the given number of worker threads.
+   * The threads are daemons so they never keep the game open after it is closed.
+   *
+   * @param threads int the number of worker threads.
+   */
+  public AssetLoader (int threads)
+  {
+    pool = Executors.newFixedThreadPool (Math.max (1, threads), new ThreadFactory ()
+    {
+      private final AtomicInteger count = new AtomicInteger ();
+      public Thread newThread (Runnable r)
+      {
+        Thread t = new Thread (r, "asset-loader-" + count.incrementAndGet ());
+        t.setDaemon (true);
+        return t;
+      }
+    });
+    completion = new ExecutorCompletionService<String> (pool);
+  }
+}
@@ -0,0 +1,206 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+import java.awt.image.*;
+import javax.imageio.*;
+import javax.imageio.stream.*;
+/**
+ * Reads images out of a single packed asset file instead of opening every file in
+ * pics/ and screenshots/ separately. The pack is memory-mapped once, and each asset
+ * is handed out as a read-only slice of the mapping, so nothing is copied until the
+ * image is decoded.
+ *
+ * <p>
+ * <b> File format </b> (all numbers are big-endian, as written by DataOutputStream)
+ * <ul>
+ * <li> int - the magic number <code>MAGIC</code>
+ * <li> int - the format version
+ * <li> int - the number of assets
+ * <li> for each asset: UTF String name, long offset from the start of the file, int length
+ * <li> the bytes of every asset, one after another
+ * </ul>
+ *
+ * The pack is built by AssetPacker.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class AssetPack
+{
+  /**
+   * Identifies a file as an asset pack ("SGPK").
+   */
+  public static final int MAGIC = 0x5347504B;
+  /**
+   * The version of the file format written by AssetPacker.
+   */
+  public static final int VERSION = 1;
+  /**
+   * The location of the pack used by the game.
+   */
+  public static final String DEFAULT_PATH = "files/assets.pack";
+  /**
+   * The pack shared by the whole game, or null if there is none.
+   */
+  private static AssetPack shared;
+  /**
+   * Whether the game has already tried to open the shared pack.
+   */
+  private static boolean opened;
+  /**
+   * Holds the whole pack file, mapped into memory.
+   */
+  private final MappedByteBuffer map;
+  /**
+   * Holds the offset and length of each asset, by name.
+   */
+  private final HashMap<String, long[]> index = new HashMap<String, long[]> ();
+  /**
+   * Returns the pack shared by the whole game, or null if there is no valid pack
+   * (in which case the images are read from their own files).
+   *
+   * Try block opens the pack.
+   *
+   * @return AssetPack the shared pack, or null.
+   */
+  public static synchronized AssetPack getShared ()
+  {
+    if (!opened)
+    {
+      opened = true;
+      File file = new File (DEFAULT_PATH);
+      if (file.isFile ())
+      {
+        try
+        {
+          shared = new AssetPack (file);
+        }
+        catch (IOException e)
+        {
+          e.printStackTrace ();
+        }
+      }
+    }
+    return shared;
+  }
+  /**
+   * Returns a read-only view of the bytes of an asset.
+   *
+   * @param name String the path of the asset, such as "pics/map.jpg".
+   * @return ByteBuffer the bytes of the asset, or null if it is not in the pack.
+   */
+  public ByteBuffer slice (String name)
+  {
+    long[] entry = index.get (name);
+    if (entry == null)
+      return null;
+    ByteBuffer b = map.duplicate ();
+    b.position ((int) entry [0]);
+    b.limit ((int) (entry [0] + entry [1]));
+    return b.slice ().asReadOnlyBuffer ();
+  }
+  /**
+   * Returns true only if the asset is in the pack.
+   *
+   * @param name String the path of the asset.
+   * @return boolean true only if the asset is in the pack.
+   */
+  public boolean contains (String name)
+  {
+    return index.containsKey (name);
+  }
+  /**
+   * Returns the names of every asset in the pack.
+   *
+   * @return Set the names of the assets.
+   */
+  public Set<String> getNames ()
+  {
+    return Collections.unmodifiableSet (index.keySet ());
+  }
+  /**
+   * Returns an InputStream which reads the remaining bytes of a buffer without copying them first.
+   *
+   * @param buffer ByteBuffer the bytes to be read.
+   * @return InputStream a stream over the buffer.
+   */
+  public static InputStream stream (final ByteBuffer buffer)
+  {
+    final ByteBuffer b = buffer.duplicate ();
+    return new InputStream ()
+    {
+      public int read ()
+      {
+        return b.hasRemaining () ? b.get () & 0xff : -1;
+      }
+      public int read (byte[] dest, int off, int len)
+      {
+        if (len == 0)
+          return 0;
+        if (!b.hasRemaining ())
+          return -1;
+        len = Math.min (len, b.remaining ());
+        b.get (dest, off, len);
+        return len;
+      }
+      public long skip (long n)
+      {
+        int k = (int) Math.max (0, Math.min (n, b.remaining ()));
+        b.position (b.position () + k);
+        return k;
+      }
+      public int available ()
+      {
+        return b.remaining ();
+      }
+    };
+  }
+  /**
+   * Decodes an image from the remaining bytes of a buffer. The bytes ImageIO reads back are
+   * kept in memory, not in a temporary file as <code>ImageIO.read (InputStream)</code> does.
+   *
+   * @param buffer ByteBuffer the compressed bytes of the image.
+   * @return BufferedImage the decoded image, or null if the format is not supported.
+   * @throws IOException if the bytes could not be decoded.
+   */
+  public static BufferedImage read (ByteBuffer buffer) throws IOException
+  {
+    return ImageIO.read (new MemoryCacheImageInputStream (stream (buffer)));
+  }
+  /**
+   * Opens and maps a pack file, and reads its index.
+   *
+   * If statement checks the magic number and version.
+   * For loop reads each index entry.
+   *
+   * @param file File the pack file.
+   * @throws IOException if the file could not be read or is not a valid pack.
+   */
+  public AssetPack (File file) throws IOException
+  {
+    RandomAccessFile raf = new RandomAccessFile (file, "r");
+    try
+    {
+      FileChannel channel = raf.getChannel ();
+      map = channel.map (FileChannel.MapMode.READ_ONLY, 0, channel.size ());
+    }
+    finally
+    {
+      raf.close ();
+    }
+    DataInputStream in = new DataInputStream (stream (map));
+    if (in.readInt () != MAGIC || in.readInt () != VERSION)
+      throw new IOException ("Not a Scarlet Gem asset pack: " + file);
+    int count = in.readInt ();
+    for (int x = 0; x < count; x++)
+    {
+      String name = in.readUTF ();
+      long offset = in.readLong ();
+      int length = in.readInt ();
+      if (offset < 0 || offset + length > map.capacity ())
+        throw new IOException ("Corrupt asset pack entry: " + name);
+      index.put (name, new long[] {offset, length});
+    }
+  }
+}
@@ -0,0 +1,106 @@
+import java.io.*;
+import java.util.*;
+/**
+ * Builds the asset pack read by AssetPack from the files in pics/ and screenshots/.
+ * Run this whenever an image is added or changed:
+ * <p>
+ * <code>java AssetPacker [output] [folder...]</code>
+ * <p>
+ * With no arguments it packs pics/ and screenshots/ into files/assets.pack.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class AssetPacker
+{
+  /**
+   * Packs the given folders into a single asset pack.
+   *
+   * If statement uses the default output file and folders if none were given.
+   *
+   * @param args String[] the output file, followed by the folders to pack.
+   * @throws IOException if a file could not be read or the pack could not be written.
+   */
+  public static void main (String[] args) throws IOException
+  {
+    String output = AssetPack.DEFAULT_PATH;
+    String[] folders = {"pics", "screenshots"};
+    if (args.length > 0)
+    {
+      output = args [0];
+      if (args.length > 1)
+        folders = Arrays.copyOfRange (args, 1, args.length);
+    }
+    ArrayList<String> names = new ArrayList<String> ();
+    for (String folder : folders)
+    {
+      File[] files = new File (folder).listFiles ();
+      if (files == null)
+        continue;
+      Arrays.sort (files);
+      for (File f : files)
+        if (f.isFile () && isImage (f.getName ()))
+          names.add (folder + "/" + f.getName ());
+    }
+    pack (names, new File (output));
+    System.out.println ("Packed " + names.size () + " assets into " + output);
+  }
+  /**
+   * Returns true only if the file is an image the game can read.
+   *
+   * @param name String the name of the file.
+   * @return boolean true only if the file is a PNG, JPEG or GIF.
+   */
+  private static boolean isImage (String name)
+  {
+    String lower = name.toLowerCase ();
+    return lower.endsWith (".png") || lower.endsWith (".jpg") || lower.endsWith (".jpeg") || lower.endsWith (".gif");
+  }
+  /**
+   * Writes the files in <code>names</code> into a pack.
+   * The index is written first, so its size is worked out before any offsets are known.
+   *
+   * For loop works out the size of the names in the index.
+   * For loop writes the index entries.
+   * For loop copies the bytes of each file.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> sizes </b> ByteArrayOutputStream - used to measure the encoded names.
+   * <p>
+   * <b> offset </b> long - where the next file's bytes will start.
+   *
+   * @param names List the paths of the files to pack.
+   * @param output File the pack to write.
+   * @throws IOException if a file could not be read or the pack could not be written.
+   */
+  public static void pack (List<String> names, File output) throws IOException
+  {
+    ByteArrayOutputStream sizes = new ByteArrayOutputStream ();
+    DataOutputStream counter = new DataOutputStream (sizes);
+    for (String name : names)
+      counter.writeUTF (name);
+    long offset = 12 + sizes.size () + names.size () * 12L;
+    DataOutputStream out = new DataOutputStream (new BufferedOutputStream (new FileOutputStream (output)));
+    try
+    {
+      out.writeInt (AssetPack.MAGIC);
+      out.writeInt (AssetPack.VERSION);
+      out.writeInt (names.size ());
+      for (String name : names)
+      {
+        long length = new File (name).length ();
+        out.writeUTF (name);
+        out.writeLong (offset);
+        out.writeInt ((int) length);
+        offset += length;
+      }
+      for (String name : names)
+        out.write (AssetLoader.readBytes (name));
+    }
+    finally
+    {
+      out.close ();
+    }
+  }
+}
@@ -0,0 +1,374 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.*;
+import java.beans.*;
+import java.util.*;
+/**
+ * Paints the game panel's components itself, into a back buffer kept in video memory, instead
+ * of letting Swing lay them out and paint them as children of the panel. The buttons and
+ * labels are still created and changed by GamePanel exactly as before, but they are only used
+ * to hold the text, pictures and bounds of each part of the screen. They belong to a hidden
+ * CellRendererPane (as a JTable's cell renderers do), so Swing never lays them out or paints
+ * them; they are drawn into the buffer instead, and mouse clicks are passed to whichever
+ * enabled button is under the pointer.
+ *
+ * Only the parts of the buffer which have changed are drawn again, and every paint of the
+ * panel is a single copy of the buffer to the screen. Changing stage therefore never lays out
+ * the panel again; it only redraws the changed regions of the buffer.
+ *
+ * The renderer is used when the program is run with <code>-Dscarletgem.renderer=painted</code>.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class BufferedRenderer extends MouseAdapter implements PropertyChangeListener, ComponentListener
+{
+  /**
+   * The panel being painted.
+   */
+  private final JComponent panel;
+  /**
+   * Holds the components, so they have a parent without being children of the panel.
+   */
+  private final CellRendererPane rendererPane = new CellRendererPane ();
+  /**
+   * Holds the components drawn on the panel, the top one first.
+   */
+  private final ArrayList<Component> components = new ArrayList<Component> ();
+  /**
+   * Holds the bounds each component was last drawn at. Components which were not drawn
+   * (because they were hidden) have no entry.
+   */
+  private final HashMap<Component, Rectangle> drawn = new HashMap<Component, Rectangle> ();
+  /**
+   * Holds the region of the buffer which needs drawing again, or null if it is up to date.
+   */
+  private Rectangle dirty;
+  /**
+   * Holds the back buffer, or null if it has not been created yet.
+   */
+  private VolatileImage buffer;
+  /**
+   * Holds the button the mouse was pressed on, or null.
+   */
+  private AbstractButton pressed;
+  /**
+   * Holds the number of times the buffer has been drawn into, and copied to the screen.
+   */
+  private long renders, blits;
+  /**
+   * Returns true if the program was asked to use this renderer.
+   *
+   * @return boolean true if the painted renderer is turned on.
+   */
+  public static boolean isEnabled ()
+  {
+    return "painted".equals (System.getProperty ("scarletgem.renderer"));
+  }
+  /**
+   * Starts drawing a component, underneath the ones already drawn. A component which is added
+   * again is moved to the bottom, as Swing does.
+   *
+   * If statement starts listening to the component, unless it is already being drawn.
+   * If statement stops Swing from buffering the component, since it is drawn into the buffer.
+   *
+   * @param c Component the component to draw.
+   */
+  public void add (Component c)
+  {
+    if (!components.remove (c))
+    {
+      c.addPropertyChangeListener (this);
+      c.addComponentListener (this);
+      rendererPane.add (c);
+      if (c instanceof JComponent)
+        ((JComponent) c).setDoubleBuffered (false);
+    }
+    components.add (c);
+    changed (c);
+  }
+  /**
+   * Stops drawing a component.
+   *
+   * If statement checks that the component was being drawn.
+   *
+   * @param c Component the component to remove.
+   * @return boolean true if the component was being drawn.
+   */
+  public boolean remove (Component c)
+  {
+    if (!components.contains (c))
+      return false;
+    changed (c);
+    components.remove (c);
+    drawn.remove (c);
+    c.removePropertyChangeListener (this);
+    c.removeComponentListener (this);
+    rendererPane.remove (c);
+    return true;
+  }
+  /**
+   * Marks the region a component covers (now, and when it was last drawn) as needing to be
+   * drawn again.
+   *
+   * If statement checks whether the component has been drawn before.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> r </b> Rectangle - the region to draw again.
+   *
+   * @param c Component the component which changed.
+   */
+  private void changed (Component c)
+  {
+    Rectangle r = c.getBounds ();
+    Rectangle old = drawn.get (c);
+    if (old != null)
+      r = r.union (old);
+    mark (r);
+  }
+  /**
+   * Marks a region of the buffer as needing to be drawn again, and asks Swing to repaint it.
+   *
+   * If statement ignores empty regions.
+   *
+   * @param r Rectangle the region, in the panel's coordinates.
+   */
+  private void mark (Rectangle r)
+  {
+    if (r == null || r.isEmpty ())
+      return;
+    dirty = dirty == null ? new Rectangle (r) : dirty.union (r);
+    panel.repaint (r.x, r.y, r.width, r.height);
+  }
+  /**
+   * Paints the panel: the changed regions are drawn into the buffer, and the buffer is copied
+   * to the screen. If the buffer's contents are lost (for example when the screen changes),
+   * it is drawn again in full.
+   *
+   * If statement draws straight to the screen if there is no screen to make a buffer for.
+   * Do loop repeats until the buffer was copied without its contents being lost.
+   * If statements make a new buffer, or draw all of it again, when its contents were lost.
+   * If statement draws the changed region.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> config </b> GraphicsConfiguration - the configuration of the panel's screen.
+   * <p>
+   * <b> width, height </b> int - the size of the panel.
+   * <p>
+   * <b> state </b> int - the result of checking the buffer.
+   *
+   * @param g Graphics the graphics context to paint with.
+   */
+  public void paint (Graphics g)
+  {
+    GraphicsConfiguration config = panel.getGraphicsConfiguration ();
+    int width = Math.max (1, panel.getWidth ()), height = Math.max (1, panel.getHeight ());
+    if (config == null)
+    {
+      render (g, new Rectangle (0, 0, width, height));
+      return;
+    }
+    do
+    {
+      int state = buffer == null ? VolatileImage.IMAGE_INCOMPATIBLE : buffer.validate (config);
+      if (state == VolatileImage.IMAGE_INCOMPATIBLE || buffer.getWidth () != width || buffer.getHeight () != height)
+      {
+        if (buffer != null)
+          buffer.flush ();
+        buffer = config.createCompatibleVolatileImage (width, height);
+        dirty = new Rectangle (0, 0, width, height);
+      }
+      else if (state == VolatileImage.IMAGE_RESTORED)
+        dirty = new Rectangle (0, 0, width, height);
+      if (dirty != null)
+      {
+        Graphics2D bg = buffer.createGraphics ();
+        render (bg, dirty);
+        bg.dispose ();
+        dirty = null;
+      }
+      g.drawImage (buffer, 0, 0, null);
+      blits++;
+    }
+    while (buffer.contentsLost ());
+  }
+  /**
+   * Draws the components in a region, from the bottom one up. Components which have moved,
+   * appeared or disappeared since they were last drawn are also drawn again where they were.
+   *
+   * For loop finds the components which have changed without telling the renderer yet.
+   * If statement checks whether the region had to grow.
+   * For loop draws each visible component which overlaps the region.
+   * If statement checks whether the component is visible.
+   * If statement checks whether it overlaps the region.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> area </b> Rectangle - the region being drawn.
+   * <p>
+   * <b> now </b> Rectangle - where a component is now, or null if it is hidden.
+   * <p>
+   * <b> old </b> Rectangle - where it was last drawn, or null.
+   * <p>
+   * <b> cg </b> Graphics - the graphics context for one component, moved to its position.
+   *
+   * @param g Graphics the graphics context to draw with.
+   * @param region Rectangle the region to draw.
+   */
+  private void render (Graphics g, Rectangle region)
+  {
+    Rectangle area = new Rectangle (region);
+    for (Component c : components)
+    {
+      Rectangle now = c.isVisible () ? c.getBounds () : null;
+      Rectangle old = drawn.get (c);
+      if (now != null && !now.equals (old))
+        area.add (now);
+      if (old != null && !old.equals (now))
+        area.add (old);
+    }
+    if (!area.equals (region))
+      panel.repaint (area.x, area.y, area.width, area.height);
+    g.clipRect (area.x, area.y, area.width, area.height);
+    g.setColor (panel.getBackground ());
+    g.fillRect (area.x, area.y, area.width, area.height);
+    for (int x = components.size () - 1; x >= 0; x--)
+    {
+      Component c = components.get (x);
+      drawn.remove (c);
+      if (c.isVisible ())
+      {
+        Rectangle b = c.getBounds ();
+        if (b.intersects (area))
+        {
+          Graphics cg = g.create (b.x, b.y, b.width, b.height);
+          c.paint (cg);
+          cg.dispose ();
+        }
+        drawn.put (c, b);
+      }
+    }
+    renders++;
+  }
+  /**
+   * Returns the top enabled button under a point, or null if there is none.
+   *
+   * For loop checks each component, the top one first.
+   *
+   * @param p Point the point, in the panel's coordinates.
+   * @return AbstractButton the button under the point, or null.
+   */
+  private AbstractButton buttonAt (Point p)
+  {
+    for (Component c : components)
+      if (c instanceof AbstractButton && c.isVisible () && c.isEnabled () && c.getBounds ().contains (p))
+        return (AbstractButton) c;
+    return null;
+  }
+  /**
+   * Remembers the button the mouse was pressed on.
+   *
+   * @param e MouseEvent the press.
+   */
+  public void mousePressed (MouseEvent e)
+  {
+    pressed = buttonAt (e.getPoint ());
+  }
+  /**
+   * Clicks the button the mouse was pressed on, if it is released over the same button.
+   *
+   * If statement checks that the mouse is still over the pressed button.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> button </b> AbstractButton - the button the mouse was pressed on.
+   *
+   * @param e MouseEvent the release.
+   */
+  public void mouseReleased (MouseEvent e)
+  {
+    AbstractButton button = pressed;
+    pressed = null;
+    if (button != null && button == buttonAt (e.getPoint ()))
+      button.doClick (0);
+  }
+  /**
+   * Draws a component again when one of its properties (such as its text, picture or whether
+   * it is enabled) changes.
+   *
+   * @param e PropertyChangeEvent the change.
+   */
+  public void propertyChange (PropertyChangeEvent e)
+  {
+    changed ((Component) e.getSource ());
+  }
+  /**
+   * Draws a component again when it is resized.
+   *
+   * @param e ComponentEvent the change.
+   */
+  public void componentResized (ComponentEvent e)
+  {
+    changed (e.getComponent ());
+  }
+  /**
+   * Draws a component again when it is moved.
+   *
+   * @param e ComponentEvent the change.
+   */
+  public void componentMoved (ComponentEvent e)
+  {
+    changed (e.getComponent ());
+  }
+  /**
+   * Draws a component again when it is shown.
+   *
+   * @param e ComponentEvent the change.
+   */
+  public void componentShown (ComponentEvent e)
+  {
+    changed (e.getComponent ());
+  }
+  /**
+   * Draws a component again when it is hidden.
+   *
+   * @param e ComponentEvent the change.
+   */
+  public void componentHidden (ComponentEvent e)
+  {
+    changed (e.getComponent ());
+  }
+  /**
+   * Returns the number of times changed regions have been drawn into the buffer.
+   *
+   * @return long the number of renders.
+   */
+  public long getRenderCount ()
+  {
+    return renders;
+  }
+  /**
+   * Returns the number of times the buffer has been copied to the screen.
+   *
+   * @return long the number of copies.
+   */
+  public long getBlitCount ()
+  {
+    return blits;
+  }
+  /**
+   * Creates a renderer for a panel. The panel must send its paints and its added and removed
+   * components to the renderer.
+   *
+   * @param panel JComponent the panel to paint.
+   */
+  public BufferedRenderer (JComponent panel)
+  {
+    this.panel = panel;
+    panel.add (rendererPane);
+    panel.addMouseListener (this);
+  }
+}
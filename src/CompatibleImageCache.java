@@ -0,0 +1,145 @@
+import java.awt.*;
+import java.awt.image.*;
+import java.util.*;
+/**
+ * Converts images into the pixel format used by the screen, so Java2D can draw them
+ * straight to the display (and keep an accelerated copy in video memory) instead of
+ * converting every pixel on every repaint. Each image is only converted once, and the
+ * converted copies are thrown away when the display configuration changes.
+ *
+ * Converted copies are held weakly by their source image, so when the ImageCache
+ * drops a background its converted copy goes with it. Images which already match the
+ * screen are returned as they are and never stored, since a copy which is its own
+ * source would keep itself alive.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class CompatibleImageCache
+{
+  /**
+   * The cache shared by the whole game.
+   */
+  private static CompatibleImageCache shared;
+  /**
+   * Holds the converted copy of each source image.
+   */
+  private final Map<Image, Image> converted = new WeakHashMap<Image, Image> ();
+  /**
+   * The display configuration the converted images were made for.
+   */
+  private GraphicsConfiguration config;
+  /**
+   * Counts the images which have been converted.
+   */
+  private long conversions;
+  /**
+   * Returns the cache shared by the whole game, creating it if needed.
+   *
+   * @return CompatibleImageCache the shared cache.
+   */
+  public static synchronized CompatibleImageCache getShared ()
+  {
+    if (shared == null)
+      shared = new CompatibleImageCache ();
+    return shared;
+  }
+  /**
+   * Returns the configuration of the default screen, or null if there is no screen.
+   *
+   * @return GraphicsConfiguration the default screen's configuration.
+   */
+  public static GraphicsConfiguration getDefaultConfiguration ()
+  {
+    if (GraphicsEnvironment.isHeadless ())
+      return null;
+    return GraphicsEnvironment.getLocalGraphicsEnvironment ().getDefaultScreenDevice ().getDefaultConfiguration ();
+  }
+  /**
+   * Returns a copy of <code>source</code> in the pixel format of <code>gc</code>,
+   * converting it the first time it is asked for.
+   *
+   * If statement uses the default screen if no configuration was given.
+   * If statement throws away all converted images if the configuration changed.
+   * If statement converts the image if it has not been converted yet.
+   * If statement stores the copy, unless the image already matched the screen.
+   *
+   * @param source Image the image to be drawn.
+   * @param gc GraphicsConfiguration the configuration it will be drawn to (may be null).
+   * @return Image the converted image, or <code>source</code> if it cannot be converted.
+   */
+  public synchronized Image get (Image source, GraphicsConfiguration gc)
+  {
+    if (source == null)
+      return null;
+    if (gc == null)
+      gc = config != null ? config : getDefaultConfiguration ();
+    if (gc == null)
+      return source;
+    if (!gc.equals (config))
+    {
+      converted.clear ();
+      config = gc;
+    }
+    Image i = converted.get (source);
+    if (i == null)
+    {
+      i = convert (source, gc);
+      if (i != source)
+      {
+        converted.put (source, i);
+        conversions++;
+      }
+    }
+    return i;
+  }
+  /**
+   * Throws away every converted image. They will be converted again the next time they are drawn.
+   */
+  public synchronized void invalidate ()
+  {
+    converted.clear ();
+    config = null;
+  }
+  /**
+   * Returns the number of images which have been converted.
+   *
+   * @return long the number of conversions.
+   */
+  public synchronized long getConversions ()
+  {
+    return conversions;
+  }
+  /**
+   * Copies <code>source</code> into a new image in the pixel format of <code>gc</code>.
+   *
+   * If statement returns the source if it already matches the screen.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> transparency </b> int - whether the source image has see-through pixels.
+   * <p>
+   * <b> copy </b> BufferedImage - the converted image.
+   *
+   * @param source Image the image to be converted.
+   * @param gc GraphicsConfiguration the configuration to convert to.
+   * @return Image the converted image.
+   */
+  private static Image convert (Image source, GraphicsConfiguration gc)
+  {
+    int transparency = Transparency.TRANSLUCENT;
+    if (source instanceof BufferedImage)
+    {
+      BufferedImage b = (BufferedImage) source;
+      transparency = b.getColorModel ().getTransparency ();
+      if (b.getColorModel ().equals (gc.getColorModel (transparency)))
+        return source;
+    }
+    BufferedImage copy = gc.createCompatibleImage (source.getWidth (null), source.getHeight (null), transparency);
+    Graphics2D g = copy.createGraphics ();
+    g.setComposite (AlphaComposite.Src);
+    g.drawImage (source, 0, 0, null);
+    g.dispose ();
+    return copy;
+  }
+}
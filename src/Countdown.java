@@ -0,0 +1,177 @@
+import java.util.concurrent.*;
+import java.util.function.*;
+/**
+ * Counts down the clock of one GameSession using the shared TimerService, so no game needs
+ * a thread of its own. The session keeps a deadline measured with System.nanoTime, so the
+ * time left is always exact; the countdown only wakes up when the number of whole seconds
+ * shown changes (and when the time runs out), and works out each wake-up from the deadline,
+ * so a late wake-up never makes the next one late. Pausing cancels the waiting task and
+ * resuming schedules a new one, so both take constant time.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class Countdown
+{
+  /**
+   * The time source used for real games.
+   */
+  private static final LongSupplier NANO_TIME = new LongSupplier ()
+  {
+    public long getAsLong ()
+    {
+      return System.nanoTime ();
+    }
+  };
+  /**
+   * The number of nanoseconds in a second.
+   */
+  private static final long SECOND = 1000000000L;
+  /**
+   * Receives the changes of a countdown. Called on the timer thread.
+   */
+  public interface Listener
+  {
+    /**
+     * Called whenever the number of whole seconds left changes.
+     *
+     * @param session GameSession the game being timed.
+     */
+    void tick (GameSession session);
+    /**
+     * Called once, when the time runs out.
+     *
+     * @param session GameSession the game being timed.
+     */
+    void expired (GameSession session);
+  }
+  /**
+   * The game being timed.
+   */
+  private final GameSession session;
+  /**
+   * The service which runs the countdown.
+   */
+  private final TimerService service;
+  /**
+   * Receives the changes of the countdown.
+   */
+  private final Listener listener;
+  /**
+   * Holds the task waiting for the next second, or null if the countdown is not running.
+   */
+  private TimerService.Timeout next;
+  /**
+   * Whether the countdown has been stopped for good.
+   */
+  private boolean stopped;
+  /**
+   * Holds the number of the task waiting for the next second. It changes every time a task is
+   * scheduled, so a task which was cancelled too late to stop it knows not to do anything.
+   */
+  private int generation;
+  /**
+   * Wakes up when the number of whole seconds left changes, and schedules the next wake-up.
+   */
+  private class Second implements Runnable
+  {
+    /**
+     * The number of this task.
+     */
+    private final int number;
+    /**
+     * Checks the session's clock and schedules the next wake-up, unless this task has been replaced.
+     *
+     * If statement checks that this task is still the current one.
+     * If statement checks whether the time has run out (here, or while an answer was being given).
+     */
+    public void run ()
+    {
+      synchronized (Countdown.this)
+      {
+        if (number != generation || stopped)
+          return;
+        next = null;
+      }
+      if (session.checkClock () || session.getStage () == GameSession.Stage.LOST)
+        listener.expired (session);
+      else
+      {
+        start ();
+        listener.tick (session);
+      }
+    }
+    /**
+     * Creates the task for the next second.
+     *
+     * @param number int the number of the task.
+     */
+    Second (int number)
+    {
+      this.number = number;
+    }
+  }
+  /**
+   * Starts counting down, and schedules a wake-up for the moment the number of whole seconds
+   * left next changes. Nothing happens if the countdown is already running.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> left </b> long - the time left, in nanoseconds.
+   */
+  public synchronized void start ()
+  {
+    if (next != null || stopped || session.isOver () || session.isPaused ())
+      return;
+    session.startClock (NANO_TIME);
+    long left = session.getTimeRemainingNanos ();
+    long delay = left > 0 ? (left - 1) % SECOND + 1 : 0;
+    next = service.schedule (new Second (++generation), delay, TimeUnit.NANOSECONDS);
+  }
+  /**
+   * Stops or restarts the clock, both in the session and on the timer wheel.
+   *
+   * If statement checks whether the clock is being stopped or restarted.
+   *
+   * @param paused boolean true to stop the clock.
+   */
+  public synchronized void setPaused (boolean paused)
+  {
+    session.setPaused (paused);
+    if (paused)
+      cancel ();
+    else
+      start ();
+  }
+  /**
+   * Stops the countdown for good, for example when the game's screen is closed.
+   */
+  public synchronized void stop ()
+  {
+    stopped = true;
+    cancel ();
+  }
+  /**
+   * Cancels the task waiting for the next second.
+   */
+  private void cancel ()
+  {
+    if (next != null)
+      next.cancel ();
+    next = null;
+    generation++;
+  }
+  /**
+   * Creates a countdown, which does not start until <code>start</code> is called.
+   *
+   * @param session GameSession the game to time.
+   * @param service TimerService the service which runs the countdown.
+   * @param listener Listener receives the changes of the countdown.
+   */
+  public Countdown (GameSession session, TimerService service, Listener listener)
+  {
+    this.session = session;
+    this.service = service;
+    this.listener = listener;
+  }
+}
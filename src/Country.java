@@ -1,5 +1,7 @@
 
 import java.awt.*;
+import java.util.List;
+import java.util.concurrent.*;
 /**
  * Data class, which contains all the data for each country in the game.
  * 
@@ -10,15 +12,15 @@ public class Country {
   /**
    * Holds the easy questions for the country.
    */
-  private Question[] easy;
+  private List<Question> easy;
   /**
    * Holds the medium questions for the country.
    */
-  private Question[] medium;
+  private List<Question> medium;
   /**
    * Holds the hard questions for the country.
    */
-  private Question[] hard;
+  private List<Question> hard;
   /**
    * Holds the name of the country.
    */
@@ -28,73 +30,80 @@ public class Country {
    */
   private String[]clues;
   /**
-   * Holds the Image of the country's background.
+   * Holds the path of the country's background image. The image itself is
+   * kept in the ImageCache and is only decoded when it is needed.
    */
-  private Image background;
+  private String background;
+  /**
+   * Holds the id of the country in the CountryRegistry, or -1 before it is registered.
+   */
+  private int id=-1;
   /**
    * Returns a random question of the specified difficulty.
-   * 
-   * If statements determine what level of difficulty to return.
+   * Any question in the bank can be drawn, however many there are.
+   * Questions may repeat; a game draws its questions from a QuestionDeck instead.
    * 
    * <b> Local Variables </b>
    * <p>
-   * <b> index </b> int the question index which will be returned.
+   * <b> questions </b> List the questions of the specified difficulty.
    * 
    * @param difficulty int the difficulty of question to be returned.
    * @return Question a random question of the specified difficulty.
    */
   public Question getRandQuestion (int difficulty)
   {
-    int index= (int) (Math.random()*4);
+    List<Question> questions=getQuestions(difficulty);
+    return questions.get(ThreadLocalRandom.current().nextInt(questions.size()));
+  }
+  /**
+   * Returns the questions of the specified difficulty.
+   * 
+   * If statements determine what level of difficulty to return.
+   * 
+   * @param difficulty int the difficulty of the questions.
+   * @return List the questions of the specified difficulty.
+   */
+  public List<Question> getQuestions (int difficulty)
+  {
     if (difficulty==0)
-      return easy[index];
-    else
-    {
-      if (difficulty==1)
-        return medium[index];
-    }
-    return hard[index];
+      return easy;
+    else if (difficulty==1)
+      return medium;
+    return hard;
   }
   /**
-   * Returns the ScarletGemMain.COUNTRIES array index of the country.
+   * Returns the id of the country, which is given to it by the CountryRegistry.
    * 
-   * If statements control return statements
+   * @return int the id of the country, or -1 if it has not been registered.
+   */
+  public int getId()
+  {
+    return id;
+  }
+  /**
+   * Sets the id of the country. Only the CountryRegistry gives out ids.
    * 
-   * @return int the array index of the country.
+   * @param id int the id of the country.
    */
-  public int getIndex()
+  void setId(int id)
   {
-    if (NAME.equals("Canada"))
-      return 0;
-    else if (NAME.equals("China"))
-      return 1;
-    else if (NAME.equals("USA"))
-      return 2;
-    else if (NAME.equals("Mexico"))
-      return 3;
-    else if (NAME.equals("Portugal"))
-      return 4;
-    else if (NAME.equals("Australia"))
-      return 5;
-    else if (NAME.equals("Egypt"))
-      return 6;
-    else if (NAME.equals("India"))
-      return 7;
-    else if (NAME.equals("Russia"))
-      return 8;
-    else if (NAME.equals("Japan"))
-      return 9;
-    else if (NAME.equals("France"))
-      return 10;
-    //england
-    return 11;
+    this.id=id;
   }
   /**
-   * Returns the background for the country.
+   * Returns the background for the country, decoding it if it is not in the ImageCache.
    * 
-   * @return Image the background of the country.
+   * @return Image the background of the country, or null if it could not be read.
    */
   public Image getBackground ()
+  {
+    return ImageCache.getShared().get(background);
+  }
+  /**
+   * Returns the path of the country's background image.
+   * 
+   * @return String the path of the background image.
+   */
+  public String getBackgroundPath ()
   {
     return background;
   }
@@ -105,7 +114,7 @@ public class Country {
    */
   public String getRandClue()
   {
-    return clues [(int)(Math.random()*4)];
+    return clues [ThreadLocalRandom.current().nextInt(clues.length)];
   }
   /**
    * Returns the name of the country.
@@ -131,14 +140,14 @@ public class Country {
    * Initializes the Country. 
    * 
    * @param NAME String the name of the country
-   * @param a Question[] the easy questions.
-   * @param b Question[] the medium questions.
-   * @param c Question[] the hard questions.
-   * @param back Image the backgoround Image of the country.
+   * @param a List the easy questions.
+   * @param b List the medium questions.
+   * @param c List the hard questions.
+   * @param back String the path of the backgoround Image of the country.
    * @param clues String[] the clues for this country.
    */
-  public Country (String NAME, Question[]a,Question[]b,
-                  Question[]c,Image back, String[]clues)
+  public Country (String NAME, List<Question>a,List<Question>b,
+                  List<Question>c,String back, String[]clues)
   {
     this.NAME=NAME;
     easy=a;
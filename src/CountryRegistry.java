@@ -0,0 +1,339 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+/**
+ * Holds every country in the game, and finds any of them by name or by id in constant time.
+ *
+ * Each country has a numeric id which never changes, so saved games can store ids instead of
+ * names. The ids of the game's own countries are kept in files/countries.ids, one
+ * <code>id name</code> pair per line, which is only ever changed by hand. A country which is not
+ * listed there (for example one from a content pack) gets the next free id, which is added to
+ * files/countries.local.ids so it stays the same in later games on this computer. The local
+ * file is never shared, and an id in it which is later given to one of the game's own
+ * countries is ignored.
+ *
+ * Content packs are hand-written question banks (see QuestionBank) kept in files/packs. Their
+ * countries are registered as soon as they are read, and a country with the same name as one
+ * already registered replaces it.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class CountryRegistry implements QuestionBank.CountryListener
+{
+  /**
+   * The location of the file which holds the id of each country.
+   */
+  public static final String IDS_PATH = "files/countries.ids";
+  /**
+   * The location of the file which holds the ids given out while playing.
+   */
+  public static final String LOCAL_IDS_PATH = "files/countries.local.ids";
+  /**
+   * The folder which holds the content packs.
+   */
+  public static final String PACKS_PATH = "files/packs";
+  /**
+   * The registry shared by the whole game.
+   */
+  private static CountryRegistry shared;
+  /**
+   * The file new ids are added to, or null if the ids are not saved.
+   */
+  private final File localFile;
+  /**
+   * Holds the id of every country name which has ever been given one.
+   */
+  private final HashMap<String, Integer> ids = new HashMap<String, Integer> ();
+  /**
+   * Holds the countries, by name.
+   */
+  private final ConcurrentHashMap<String, Country> byName = new ConcurrentHashMap<String, Country> ();
+  /**
+   * Holds the countries, by id. An id which has no country registered holds null.
+   */
+  private final ArrayList<Country> byId = new ArrayList<Country> ();
+  /**
+   * Holds the ids which have a country registered, in the order they were registered.
+   */
+  private final ArrayList<Integer> registered = new ArrayList<Integer> ();
+  /**
+   * Holds a copy of <code>byId</code> which is replaced whenever a country is registered, so
+   * looking up a country by id never has to wait for a lock (countries are registered rarely,
+   * but simulations look them up from many threads at once).
+   */
+  private volatile Country[] snapshot = new Country [0];
+  /**
+   * Holds the first country registered.
+   */
+  private volatile Country first;
+  /**
+   * Returns the registry shared by the whole game.
+   *
+   * @return CountryRegistry the shared registry.
+   */
+  public static synchronized CountryRegistry getShared ()
+  {
+    if (shared == null)
+      shared = new CountryRegistry (new File (IDS_PATH), new File (LOCAL_IDS_PATH));
+    return shared;
+  }
+  /**
+   * Registers a country, giving it its id.
+   * Called by QuestionBank for each country it reads.
+   *
+   * @param c Country the country to register.
+   */
+  public void country (Country c)
+  {
+    register (c);
+  }
+  /**
+   * Registers a country and returns its id. The country is given the id its name has always
+   * had, or the next free id if its name is new. A country which has the same name as one
+   * already registered replaces it.
+   *
+   * If statement gives the name a new id if it does not have one.
+   * If statement makes room for the id.
+   * If statement records the id the first time a country is registered with it.
+   * If statement keeps track of the first country (or the country which replaces it).
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> id </b> Integer - the id of the country.
+   *
+   * @param c Country the country to register.
+   * @return int the id of the country.
+   */
+  public synchronized int register (Country c)
+  {
+    Integer id = ids.get (c.getName ());
+    if (id == null)
+    {
+      id = byId.size ();
+      ids.put (c.getName (), id);
+      saveId (c.getName (), id);
+    }
+    while (byId.size () <= id)
+      byId.add (null);
+    if (byId.get (id) == null)
+      registered.add (id);
+    byId.set (id, c);
+    byName.put (c.getName (), c);
+    c.setId (id);
+    if (first == null || first.getId () == id)
+      first = c;
+    snapshot = byId.toArray (new Country [byId.size ()]);
+    return id;
+  }
+  /**
+   * Returns the country with the given name.
+   *
+   * @param name String the name of the country.
+   * @return Country the country, or null if there is none with that name.
+   */
+  public Country get (String name)
+  {
+    return byName.get (name);
+  }
+  /**
+   * Returns the country with the given id.
+   *
+   * @param id int the id of the country.
+   * @return Country the country, or null if there is none with that id.
+   */
+  public Country get (int id)
+  {
+    Country[] countries = snapshot;
+    return id >= 0 && id < countries.length ? countries [id] : null;
+  }
+  /**
+   * Returns the first country registered, which is where every game starts.
+   *
+   * @return Country the first country, or null if there are none.
+   */
+  public Country getFirst ()
+  {
+    return first;
+  }
+  /**
+   * Returns one more than the highest id given out, which is the size an array
+   * needs to be to hold every country by id.
+   *
+   * @return int the number of ids.
+   */
+  public int getIdCount ()
+  {
+    return snapshot.length;
+  }
+  /**
+   * Returns the number of countries registered.
+   *
+   * @return int the number of countries.
+   */
+  public synchronized int size ()
+  {
+    return registered.size ();
+  }
+  /**
+   * Returns every country registered, in the order they were registered.
+   *
+   * For loop copies each country.
+   *
+   * @return List the countries.
+   */
+  public synchronized List<Country> getCountries ()
+  {
+    ArrayList<Country> countries = new ArrayList<Country> (registered.size ());
+    for (int id : registered)
+      countries.add (byId.get (id));
+    return countries;
+  }
+  /**
+   * Reads every content pack in files/packs and registers its countries, handing each one
+   * to <code>listener</code> as well once it has been registered.
+   *
+   * For loop reads each pack.
+   * If statement skips anything which is not a pack.
+   *
+   * Try block reads a pack; a pack with a mistake in it is skipped.
+   *
+   * @param listener QuestionBank.CountryListener receives each country after it is registered.
+   */
+  public void loadPacks (final QuestionBank.CountryListener listener)
+  {
+    File[] packs = new File (PACKS_PATH).listFiles ();
+    if (packs == null)
+      return;
+    Arrays.sort (packs);
+    for (File pack : packs)
+    {
+      if (!pack.isFile () || !pack.getName ().endsWith (".txt"))
+        continue;
+      try
+      {
+        QuestionBank.readText (pack, new QuestionBank.CountryListener ()
+        {
+          public void country (Country c)
+          {
+            register (c);
+            listener.country (c);
+          }
+        });
+      }
+      catch (IOException e)
+      {
+        e.printStackTrace ();
+      }
+    }
+  }
+  /**
+   * Adds a new id to the local id file.
+   *
+   * If statement checks that the ids are saved.
+   *
+   * Try block appends the line.
+   *
+   * @param name String the name of the country.
+   * @param id int its id.
+   */
+  private void saveId (String name, int id)
+  {
+    if (localFile == null)
+      return;
+    try
+    {
+      PrintWriter out = new PrintWriter (new OutputStreamWriter (new FileOutputStream (localFile, true), "UTF-8"));
+      out.println (id + " " + name);
+      out.close ();
+    }
+    catch (IOException e)
+    {
+      e.printStackTrace ();
+    }
+  }
+  /**
+   * Creates a registry whose ids are not saved.
+   */
+  public CountryRegistry ()
+  {
+    localFile = null;
+  }
+  /**
+   * Creates a registry which reads the game's ids from one file, and keeps the ids it gives
+   * out in another.
+   *
+   * @param idFile File the file which holds the ids of the game's own countries.
+   * @param localFile File the file which holds the ids given out while playing.
+   */
+  public CountryRegistry (File idFile, File localFile)
+  {
+    this.localFile = localFile;
+    readIds (idFile);
+    readIds (localFile);
+    snapshot = new Country [byId.size ()];
+  }
+  /**
+   * Reads the ids in a file, if there is one. An id or name which already has a pair is
+   * skipped, so the game's own ids always win over local ones, and a line with a mistake in
+   * it is reported and skipped without losing the lines after it.
+   *
+   * If statement checks that there is a file.
+   * While loop reads each id.
+   * If statement skips lines which are not pairs, and pairs which clash with one already read.
+   *
+   * Try block reads the file.
+   * Try block reads the id on each line.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> taken </b> HashSet - the ids read so far.
+   * <p>
+   * <b> id </b> int - the id on the line.
+   *
+   * @param file File the file which holds the ids.
+   */
+  private void readIds (File file)
+  {
+    if (!file.isFile ())
+      return;
+    HashSet<Integer> taken = new HashSet<Integer> (ids.values ());
+    try
+    {
+      BufferedReader in = new BufferedReader (new InputStreamReader (new FileInputStream (file), "UTF-8"));
+      try
+      {
+        String line;
+        while ((line = in.readLine ()) != null)
+        {
+          String[] parts = line.trim ().split (" ", 2);
+          if (parts.length < 2)
+            continue;
+          int id;
+          try
+          {
+            id = Integer.parseInt (parts [0]);
+          }
+          catch (NumberFormatException e)
+          {
+            System.err.println ("Skipped a line with no id in " + file + ": " + line);
+            continue;
+          }
+          if (id < 0 || ids.containsKey (parts [1]) || !taken.add (id))
+            continue;
+          ids.put (parts [1], id);
+          while (byId.size () <= id)
+            byId.add (null);
+        }
+      }
+      finally
+      {
+        in.close ();
+      }
+    }
+    catch (IOException e)
+    {
+      e.printStackTrace ();
+    }
+  }
+}
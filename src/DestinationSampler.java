@@ -0,0 +1,139 @@
+import java.util.*;
+/**
+ * Chooses the destinations shown on the map without ever having to retry a draw.
+ * Every country is kept in one array, with the countries which have not been visited
+ * at the front and the visited ones at the back, along with where each country is in
+ * the array. Visiting a country swaps it to the back, and drawing <code>k</code>
+ * destinations shuffles only the first <code>k</code> places of the front, so both take
+ * the same time however many countries there are and however many have been visited.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class DestinationSampler
+{
+  /**
+   * Holds the country numbers, unvisited ones first.
+   */
+  private final int[] order;
+  /**
+   * Holds where each country number is in <code>order</code>.
+   */
+  private final int[] position;
+  /**
+   * Holds the number of countries which have not been visited.
+   */
+  private int unvisited;
+  /**
+   * The random number generator used to draw destinations.
+   */
+  private final SplittableRandom random;
+  /**
+   * Marks a country as visited, so it will not be drawn as a destination again.
+   * Nothing happens if it has already been visited.
+   *
+   * If statement checks that the country has not already been visited.
+   *
+   * @param country int the number of the country.
+   */
+  public void visit (int country)
+  {
+    if (position [country] < unvisited)
+    {
+      unvisited--;
+      swap (position [country], unvisited);
+    }
+  }
+  /**
+   * Returns true only if the country has been visited.
+   *
+   * @param country int the number of the country.
+   * @return boolean true only if the country has been visited.
+   */
+  public boolean isVisited (int country)
+  {
+    return position [country] >= unvisited;
+  }
+  /**
+   * Returns the number of countries which have not been visited.
+   *
+   * @return int the number of unvisited countries.
+   */
+  public int getUnvisited ()
+  {
+    return unvisited;
+  }
+  /**
+   * Draws <code>k</code> different countries, at random. As many as possible are countries which
+   * have not been visited; only when there are fewer than <code>k</code> of those are the rest
+   * drawn from the visited countries. The first country drawn is always unvisited if any are left.
+   *
+   * For loop draws each country with one step of a Fisher-Yates shuffle.
+   * If statement chooses whether to draw from the unvisited or the visited countries.
+   *
+   * @param k int the number of countries to draw.
+   * @return int[] the numbers of the countries drawn.
+   * @throws IllegalArgumentException if there are fewer than <code>k</code> countries.
+   */
+  public int[] draw (int k)
+  {
+    if (k > order.length)
+      throw new IllegalArgumentException ("Cannot draw " + k + " of " + order.length + " countries");
+    int[] drawn = new int [k];
+    for (int x = 0; x < k; x++)
+    {
+      int pick;
+      if (x < unvisited)
+        pick = x + random.nextInt (unvisited - x);
+      else
+        pick = x + random.nextInt (order.length - x);
+      swap (x, pick);
+      drawn [x] = order [x];
+    }
+    return drawn;
+  }
+  /**
+   * Swaps two places in the array, keeping <code>position</code> up to date.
+   *
+   * @param i int one place.
+   * @param j int the other place.
+   */
+  private void swap (int i, int j)
+  {
+    int a = order [i];
+    int b = order [j];
+    order [i] = b;
+    order [j] = a;
+    position [b] = i;
+    position [a] = j;
+  }
+  /**
+   * Creates a sampler for <code>count</code> countries, numbered from 0, none of them visited.
+   *
+   * @param count int the number of countries.
+   */
+  public DestinationSampler (int count)
+  {
+    this (count, new SplittableRandom ());
+  }
+  /**
+   * Creates a sampler for <code>count</code> countries which uses the given random number generator.
+   *
+   * For loop puts every country in the array.
+   *
+   * @param count int the number of countries.
+   * @param random SplittableRandom the generator to use.
+   */
+  public DestinationSampler (int count, SplittableRandom random)
+  {
+    order = new int [count];
+    position = new int [count];
+    for (int x = 0; x < count; x++)
+    {
+      order [x] = x;
+      position [x] = x;
+    }
+    unvisited = count;
+    this.random = random;
+  }
+}
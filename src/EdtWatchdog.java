@@ -0,0 +1,317 @@
+import java.awt.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+/**
+ * Watches the event dispatch thread for stalls. Every event is timed as it is dispatched, and a
+ * heartbeat is posted to the event queue every <code>HEARTBEAT_MILLIS</code> milliseconds to
+ * measure how long events wait before they are handled. When one event takes longer than the
+ * threshold, the watchdog takes the event dispatch thread's stack while it is still stuck and
+ * prints it, so the code causing the freeze can be found.
+ *
+ * The length of every dispatch and the wait of every heartbeat are kept in histograms, which
+ * are written as comma-separated values when the program ends.
+ *
+ * The watchdog is turned on with <code>-Dscarletgem.watchdog=true</code>. The threshold is
+ * <code>scarletgem.stallMillis</code> (100 by default), and the histograms are written to
+ * <code>scarletgem.watchdogCsv</code> (files/edt-watchdog.csv by default).
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class EdtWatchdog
+{
+  /**
+   * The time between heartbeats, and between checks for a stall, in milliseconds.
+   */
+  public static final long HEARTBEAT_MILLIS = 20;
+  /**
+   * The number of stalls kept for <code>getStalls</code>.
+   */
+  private static final int KEPT_STALLS = 20;
+  /**
+   * The watchdog shared by the whole game, or null if it is turned off.
+   */
+  private static EdtWatchdog shared;
+  /**
+   * Whether the game has already checked if the watchdog is turned on.
+   */
+  private static boolean checked;
+  /**
+   * The time a dispatch must take to count as a stall, in nanoseconds.
+   */
+  private final long threshold;
+  /**
+   * Holds the length of every dispatch.
+   */
+  private final LatencyHistogram dispatches = new LatencyHistogram ();
+  /**
+   * Holds how long each heartbeat waited in the event queue.
+   */
+  private final LatencyHistogram heartbeats = new LatencyHistogram ();
+  /**
+   * Holds the event dispatch thread, once it has dispatched an event.
+   */
+  private volatile Thread edt;
+  /**
+   * Holds the time the event being dispatched started, or 0 if none is.
+   */
+  private volatile long dispatchStart;
+  /**
+   * Holds the event being dispatched.
+   */
+  private volatile AWTEvent current;
+  /**
+   * Holds the start of the last dispatch reported as a stall, so each stall is reported once.
+   */
+  private long reported;
+  /**
+   * Holds the time the waiting heartbeat was posted, or 0 if none is waiting.
+   */
+  private volatile long heartbeatPosted;
+  /**
+   * Holds the most recent stall reports, the newest last.
+   */
+  private final ArrayDeque<String> stalls = new ArrayDeque<String> ();
+  /**
+   * Holds the number of stalls seen.
+   */
+  private int stallCount;
+  /**
+   * Times each event as the event queue dispatches it.
+   */
+  private class TimedQueue extends EventQueue
+  {
+    /**
+     * Dispatches an event and records how long it took. An event dispatched inside another
+     * (while a modal dialog is open, for example) is timed on its own, and the outer event's
+     * timing restarts when it ends, since the thread was not stuck in the meantime.
+     *
+     * Try block dispatches the event.
+     *
+     * <b> Local Variables </b>
+     * <p>
+     * <b> outer </b> AWTEvent - the event this one was dispatched inside, or null.
+     * <p>
+     * <b> start </b> long - the time the dispatch started.
+     *
+     * @param e AWTEvent the event to dispatch.
+     */
+    protected void dispatchEvent (AWTEvent e)
+    {
+      AWTEvent outer = current;
+      edt = Thread.currentThread ();
+      long start = System.nanoTime ();
+      current = e;
+      dispatchStart = start;
+      try
+      {
+        super.dispatchEvent (e);
+      }
+      finally
+      {
+        long end = System.nanoTime ();
+        dispatches.record (end - start);
+        current = outer;
+        dispatchStart = outer == null ? 0 : end;
+      }
+    }
+  }
+  /**
+   * Returns the watchdog shared by the whole game, or null if it is turned off. The first time
+   * it is called with the watchdog turned on, it starts watching the event queue.
+   *
+   * @return EdtWatchdog the shared watchdog, or null.
+   */
+  public static synchronized EdtWatchdog getShared ()
+  {
+    if (!checked)
+    {
+      checked = true;
+      if (Boolean.getBoolean ("scarletgem.watchdog"))
+      {
+        shared = new EdtWatchdog (Long.getLong ("scarletgem.stallMillis", 100));
+        shared.start (new File (System.getProperty ("scarletgem.watchdogCsv", "files/edt-watchdog.csv")));
+      }
+    }
+    return shared;
+  }
+  /**
+   * Starts timing the event queue and checking it for stalls, and writes the histograms to
+   * <code>csv</code> when the program ends.
+   *
+   * @param csv File where to write the histograms.
+   */
+  public void start (final File csv)
+  {
+    Toolkit.getDefaultToolkit ().getSystemEventQueue ().push (new TimedQueue ());
+    ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor (new ThreadFactory ()
+    {
+      public Thread newThread (Runnable r)
+      {
+        Thread t = new Thread (r, "edt-watchdog");
+        t.setDaemon (true);
+        return t;
+      }
+    });
+    checker.scheduleAtFixedRate (new Runnable ()
+    {
+      public void run ()
+      {
+        check ();
+      }
+    }, HEARTBEAT_MILLIS, HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+    Runtime.getRuntime ().addShutdownHook (new Thread ("edt-watchdog-export")
+    {
+      public void run ()
+      {
+        try
+        {
+          export (csv);
+        }
+        catch (IOException e)
+        {
+          System.err.println ("The event dispatch histograms could not be written to " + csv);
+        }
+      }
+    });
+  }
+  /**
+   * Posts a heartbeat (unless one is still waiting), and reports the event being dispatched if
+   * it has taken longer than the threshold. Called on the watchdog thread.
+   *
+   * If statement checks that no heartbeat is waiting.
+   * If statement checks if the event being dispatched has stalled and not been reported.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> now </b> long - the time of the check.
+   * <p>
+   * <b> start </b> long - the time the event being dispatched started, or 0.
+   */
+  private void check ()
+  {
+    long now = System.nanoTime ();
+    if (heartbeatPosted == 0)
+    {
+      heartbeatPosted = now;
+      EventQueue.invokeLater (new Runnable ()
+      {
+        public void run ()
+        {
+          heartbeats.record (System.nanoTime () - heartbeatPosted);
+          heartbeatPosted = 0;
+        }
+      });
+    }
+    long start = dispatchStart;
+    if (start != 0 && start != reported && now - start > threshold && edt != null)
+    {
+      reported = start;
+      report (now - start, current, edt.getStackTrace ());
+    }
+  }
+  /**
+   * Prints a stall and keeps it for <code>getStalls</code>.
+   *
+   * For loop adds each line of the stack.
+   * If statement forgets the oldest stall when too many are kept.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> text </b> StringBuilder - the report.
+   *
+   * @param nanos long how long the event had been running when it was caught.
+   * @param event AWTEvent the event being dispatched.
+   * @param stack StackTraceElement[] the event dispatch thread's stack.
+   */
+  private void report (long nanos, AWTEvent event, StackTraceElement[] stack)
+  {
+    StringBuilder text = new StringBuilder ("Event dispatch thread stalled for " + nanos / 1000000 +
+                                            " ms handling " + (event == null ? "an event" : event.paramString ()));
+    for (StackTraceElement frame : stack)
+      text.append ("\n\tat ").append (frame);
+    System.err.println (text);
+    synchronized (stalls)
+    {
+      stallCount++;
+      stalls.add (text.toString ());
+      if (stalls.size () > KEPT_STALLS)
+        stalls.poll ();
+    }
+  }
+  /**
+   * Writes the dispatch and heartbeat histograms as comma-separated values, with the columns
+   * histogram, shortest time (microseconds), longest time (microseconds) and count.
+   *
+   * Try block writes the file.
+   *
+   * @param file File where to write.
+   * @throws IOException if the file could not be written.
+   */
+  public void export (File file) throws IOException
+  {
+    PrintWriter out = new PrintWriter (new FileWriter (file));
+    try
+    {
+      out.println ("histogram,from_us,to_us,count");
+      dispatches.writeCsv (out, "dispatch");
+      heartbeats.writeCsv (out, "heartbeat");
+    }
+    finally
+    {
+      out.close ();
+    }
+  }
+  /**
+   * Returns the histogram of dispatch lengths.
+   *
+   * @return LatencyHistogram the dispatch lengths.
+   */
+  public LatencyHistogram getDispatches ()
+  {
+    return dispatches;
+  }
+  /**
+   * Returns the histogram of how long heartbeats waited in the event queue.
+   *
+   * @return LatencyHistogram the heartbeat waits.
+   */
+  public LatencyHistogram getHeartbeats ()
+  {
+    return heartbeats;
+  }
+  /**
+   * Returns the number of stalls seen.
+   *
+   * @return int the number of stalls.
+   */
+  public int getStallCount ()
+  {
+    synchronized (stalls)
+    {
+      return stallCount;
+    }
+  }
+  /**
+   * Returns the reports of the most recent stalls, the newest last.
+   *
+   * @return List the stall reports.
+   */
+  public java.util.List<String> getStalls ()
+  {
+    synchronized (stalls)
+    {
+      return new ArrayList<String> (stalls);
+    }
+  }
+  /**
+   * Creates a watchdog, which does nothing until <code>start</code> is called.
+   *
+   * @param stallMillis long the time a dispatch must take to count as a stall, in milliseconds.
+   */
+  public EdtWatchdog (long stallMillis)
+  {
+    threshold = TimeUnit.MILLISECONDS.toNanos (stallMillis);
+  }
+}
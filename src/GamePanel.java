@@ -1,6 +1,7 @@
 
 import javax.swing.*;
 import java.awt.*;
+import java.beans.*;
 /**
  * Holds all of the components on the game screen. Components are controlled
  * using the get/set methods included in this class.
@@ -25,6 +26,9 @@ public class GamePanel extends JPanel
   /**Holds the Label which holds the question/clue.
     */
   private JLabel questionLabel;
+  /**Holds the parsed layouts of the questions shown on the question label.
+    */
+  private QuestionLayoutCache layouts;
   /**Holds the question which is currently being viewed (question stage only).
    */
   private Question currentQuestion;
@@ -34,9 +38,16 @@ public class GamePanel extends JPanel
   /**Holds the button which is used to pause and unpause the game.
     */
   private JButton pauseButton = new JButton ("PAUSE");
-  /**Displays the amount of time remaining to the user.
+  /**Displays the amount of time remaining to the user. Its bounds are fixed, so a change
+   * of text only repaints the label, instead of laying out the whole panel again.
    */
-  private JLabel timeLabel = new JLabel ("start");
+  private JLabel timeLabel = new JLabel ("start")
+  {
+    public void revalidate ()
+    {
+      repaint ();
+    }
+  };
   /**Holds the text of the clue that is currently being viewed.
     */
   private String currentClue;
@@ -70,18 +81,161 @@ public class GamePanel extends JPanel
   /**Holds the travelling map image.
     */
   private JLabel mapImageLabel=new JLabel();
+  /**Holds the screen-compatible copy of the background, reused for every country.
+    */
+  private ImageIcon backgroundIcon=new ImageIcon();
+  /**Holds the screen-compatible copy of the travelling map.
+    */
+  private ImageIcon mapIcon=new ImageIcon();
+  /**Holds the number of times the panel has been painted.
+    */
+  private long paintCount;
+  /**Holds the total time (in nanoseconds) spent painting the panel.
+    */
+  private long paintTime;
+  /**Holds how dark the panel is drawn during a transition, from 0 (not at all) to 1 (black).
+    */
+  private float fade;
+  /**Holds the repaint tracker, which draws the repainted regions over the panel,
+    * or null if it is turned off.
+    */
+  private RepaintTracker tracker=RepaintTracker.getShared();
+  /**Holds the renderer which paints the components into a back buffer,
+    * or null if they are painted by Swing as usual.
+    */
+  private BufferedRenderer renderer=BufferedRenderer.isEnabled() ? new BufferedRenderer(this) : null;
+  /**Holds the overlay which measures paint times and click latency,
+    * or null if it is turned off.
+    */
+  private PerformanceOverlay metrics=PerformanceOverlay.getShared();
   /**
-   * Sets the background of the game.
+   * Sets the background of the game. The image is converted once into the
+   * screen's pixel format, so it does not have to be converted on every repaint.
+   * 
+   * If statement clears the background if there is no image.
    * 
    * @param i Image the new background.
    */
   public void setBackground(Image i)
   {
     background=i;
-    imageLabel.setIcon(new ImageIcon(i));
+    if (i==null)
+      imageLabel.setIcon(null);
+    else
+    {
+      backgroundIcon.setImage(CompatibleImageCache.getShared().get(i,getGraphicsConfiguration()));
+      imageLabel.setIcon(backgroundIcon);
+      imageLabel.repaint();
+    }
     imageLabel.setBounds(0,0,700,600);
     add(imageLabel);
   }
+  /**
+   * Converts the background and map again for the current screen.
+   * Called when the panel is moved to a display with a different configuration.
+   * The copies already made are reused if the configuration has not really changed
+   * (when a new panel is first shown, for example).
+   * 
+   * If statement checks if there is a background to convert.
+   */
+  private void refreshImages()
+  {
+    Image map=ImageCache.getShared().get("pics/map.jpg");
+    if (map!=null)
+    {
+      mapIcon.setImage(CompatibleImageCache.getShared().get(map,getGraphicsConfiguration()));
+      mapImageLabel.setIcon(mapIcon);
+      mapImageLabel.repaint();
+    }
+    if (background!=null)
+      setBackground(background);
+  }
+  /**
+   * Paints the panel (darkened if a transition is running), and records how long it took.
+   * 
+   * If statement checks if the components are painted by the buffered renderer.
+   * If statement checks if the panel is being darkened.
+   * If statement checks if the repaint tracker is turned on.
+   * If statement checks if the performance overlay is turned on.
+   * 
+   * @param g Graphics the graphics context to paint with.
+   */
+  public void paint(Graphics g)
+  {
+    long start=System.nanoTime();
+    if (renderer!=null)
+      renderer.paint(g);
+    else
+      super.paint(g);
+    if (fade>0)
+    {
+      g.setColor(new Color(0,0,0,fade));
+      g.fillRect(0,0,getWidth(),getHeight());
+    }
+    if (tracker!=null)
+      tracker.paintOverlay(g,this);
+    if (metrics!=null)
+    {
+      metrics.paintOverlay(g,this);
+      metrics.painted(System.nanoTime()-start);
+    }
+    paintTime+=System.nanoTime()-start;
+    paintCount++;
+  }
+  /**
+   * Adds a component to the panel, or to the buffered renderer if it is turned on.
+   * 
+   * If statement checks if the buffered renderer is turned on.
+   * 
+   * @param comp Component the component to add.
+   * @param constraints Object the layout constraints (not used by the null layout).
+   * @param index int the position in the list of components.
+   */
+  protected void addImpl(Component comp, Object constraints, int index)
+  {
+    if (renderer!=null)
+      renderer.add(comp);
+    else
+      super.addImpl(comp,constraints,index);
+  }
+  /**
+   * Removes a component from the panel, or from the buffered renderer if it is turned on.
+   * 
+   * If statement checks if the buffered renderer was drawing the component.
+   * 
+   * @param comp Component the component to remove.
+   */
+  public void remove(Component comp)
+  {
+    if (renderer==null || !renderer.remove(comp))
+      super.remove(comp);
+  }
+  /**
+   * Sets how dark the panel is drawn, for the transitions between screens.
+   * 
+   * If statement checks if the amount has changed.
+   * 
+   * @param amount float from 0 (not darkened) to 1 (black).
+   */
+  public void setFade(float amount)
+  {
+    if (amount!=fade)
+    {
+      fade=amount;
+      repaint();
+    }
+  }
+  /**
+   * Returns the average time taken to paint the panel.
+   * 
+   * @return double the average paint time in milliseconds.
+   */
+  public double getAveragePaintTime()
+  {
+    if (paintCount==0)
+      return 0;
+    return paintTime/1000000.0/paintCount;
+  }
   /**
    * Returns the current Question.
    * 
@@ -158,13 +312,27 @@ public class GamePanel extends JPanel
   /**
    * Sets the current question. Also hides the feedback label.
    * 
+   * If statement checks if the performance overlay is turned on.
+   * 
    * @param q Question the new Question.
    */
   public void setQuestion(Question q)
   {
     currentQuestion=q;
-    questionLabel.setText(q.getQuestion());
+    layouts.show(q.getQuestion());
     feedbackLabel.setVisible(false);
+    if (metrics!=null)
+      metrics.updated();
+  }
+  /**
+   * Starts preparing the layouts of a country's questions, a few at a time between other
+   * events, so they are ready to be shown.
+   * 
+   * @param questions List the questions which may be asked next.
+   */
+  public void prefetchQuestions(java.util.List<Question> questions)
+  {
+    layouts.prefetch(questions);
   }
   /**
    * Shuffles the destination buttons in a random order.
@@ -202,7 +370,7 @@ public class GamePanel extends JPanel
    */
   public void switchToCountry()
   {
-    questionLabel.setText(currentQuestion.getQuestion());
+    layouts.show(currentQuestion.getQuestion());
     d.setVisible(true);
     atQuestionStage=true;
     mapImageLabel.setVisible(false);
@@ -218,6 +386,8 @@ public class GamePanel extends JPanel
   }
   /**
    * Switches the game panel to the Map stage.
+   * 
+   * If statement checks if the performance overlay is turned on.
    */
   public void switchToMap()
   {
@@ -227,12 +397,14 @@ public class GamePanel extends JPanel
     b.setText(destinations[1].getName());
     c.setText(destinations[2].getName());
     currentClue=destinations[0].getRandClue();
-    questionLabel.setText(currentClue);
+    layouts.show(currentClue);
     atQuestionStage=false;
     shuffleButtons();
     questionLabel.setBounds(650-questionLabel.getPreferredSize().width,120,600,30);
     mapImageLabel.setVisible(true);
     mapImageLabel.repaint();
+    if (metrics!=null)
+      metrics.updated();
     revalidate();
   }
   /**
@@ -241,9 +413,9 @@ public class GamePanel extends JPanel
   public void switchToPause ()
   {
     timer.setPaused (true);
-    questionLabel.setText ("<html><br>You have paused the game!"+
-                           "<br>To continue, please press the pause button again!"+
-                           "<br>~^_^~</html>");
+    layouts.show ("<html><br>You have paused the game!"+
+                  "<br>To continue, please press the pause button again!"+
+                  "<br>~^_^~</html>");
     a.setVisible(false);
     b.setVisible(false);
     c.setVisible(false);
@@ -261,9 +433,9 @@ public class GamePanel extends JPanel
   {
     timer.setPaused (false);
     if (atQuestionStage)
-      questionLabel.setText(currentQuestion.getQuestion());
+      layouts.show(currentQuestion.getQuestion());
     else
-      questionLabel.setText(currentClue);
+      layouts.show(currentClue);
     a.setVisible(true);
     b.setVisible(true);
     c.setVisible(true);
@@ -327,13 +499,19 @@ public class GamePanel extends JPanel
     return destinations;
   }
   /**
-   * Sets the new destinations for the game panel.
+   * Sets the new destinations for the game panel. Also starts decoding the
+   * background of each destination, so whichever one the user picks is ready
+   * to be displayed straight away.
+   * 
+   * For loop prefetches each destination's background.
    * 
    * @param c Country[] the new destinations.
    */
   public void setDestinations (Country[]c)
   {
     destinations=c;
+    for (Country next:c)
+      ImageCache.getShared().prefetch(next.getBackgroundPath());
   }
   /**
    * Returns the answer to the question.
@@ -356,18 +534,19 @@ public class GamePanel extends JPanel
   /**
    * Sets up a new Game Panel.
    * 
-   * @param difficulty int the difficulty of the game.
+   * @param session GameSession the game shown by the panel.
    * @param source ScarletGemMain the Main JFrame class.
    */
-  public GamePanel (int difficulty, ScarletGemMain source)
+  public GamePanel (GameSession session, ScarletGemMain source)
   {
-    timer = new GameTimer (difficulty, timeLabel, this, source);
+    timer = new GameTimer (session, timeLabel, this, source);
     timer.start ();
     a=new JButton ("A");
     b=new JButton ("B");
     c=new JButton ("C");
     d=new JButton ("D");
     questionLabel=new JLabel();
+    layouts=new QuestionLayoutCache(questionLabel);
     
     setLayout(null);
     a.setBounds(380,220,a.getPreferredSize().height+20,a.getPreferredSize().width);
@@ -377,7 +556,7 @@ public class GamePanel extends JPanel
     questionLabel.setBounds(380,100,600,100);
     pauseButton.setBounds (450,50,pauseButton.getPreferredSize().width, pauseButton.getPreferredSize().height);
     
-    mapImageLabel.setIcon(new ImageIcon("pics/map.jpg"));
+    refreshImages();
     mapImageLabel.setBounds(200,170,500,280);
     mapImageLabel.setVisible(false);
     
@@ -398,6 +577,23 @@ public class GamePanel extends JPanel
     add(pauseButton);
     add(questionCounter);
     add(levelCounter);
+    addPropertyChangeListener("graphicsConfiguration",new PropertyChangeListener()
+    {
+      public void propertyChange(PropertyChangeEvent e)
+      {
+        refreshImages();
+      }
+    });
+    if (tracker!=null)
+      tracker.setOverlay(this);
+    if (metrics!=null)
+    {
+      metrics.setPanel(this);
+      metrics.watch(a);
+      metrics.watch(b);
+      metrics.watch(c);
+      metrics.watch(d);
+    }
     revalidate ();
   }
 }
@@ -0,0 +1,538 @@
+import java.util.*;
+import java.util.function.*;
+/**
+ * Plays one game of The Scarlet Gem by its rules, without any user interface. The session
+ * owns everything about the game in progress: the difficulty, the countries visited, where
+ * the player is, the question being asked, the score and the time left. The player's choices
+ * are passed in as method calls, and the Swing screens (ScarletGemMain and GamePanel) only
+ * show what the session holds. Because nothing here touches Swing, sessions can be played
+ * by simulators and benchmarks as well.
+ *
+ * A game goes like this: in each country the player answers <code>QUESTIONS_PER_COUNTRY</code>
+ * questions, then chooses the next country out of <code>DESTINATIONS</code> using a clue.
+ * Once <code>LEVELS</code> countries have been completed and the last destination has been
+ * found, the game is won, and the whole seconds left on the clock are added to the score. The game
+ * is lost if the time runs out first.
+ *
+ * The clock only moves when <code>tick</code> is called, until <code>startClock</code> gives
+ * it a time source; from then on it counts down in real time towards a deadline, which is
+ * moved by exactly the length of every pause, so it never drifts.
+ *
+ * Every method is synchronized, since the game timer counts down on its own thread.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class GameSession
+{
+  /**
+   * The stages a game can be in.
+   */
+  public enum Stage
+  {
+    /**
+     * The player is answering a question about the current country.
+     */
+    QUESTION,
+    /**
+     * The player is choosing the next country on the map.
+     */
+    MAP,
+    /**
+     * The player found the Scarlet Gem.
+     */
+    WON,
+    /**
+     * The time ran out.
+     */
+    LOST
+  }
+  /**
+   * The number of countries to complete in easy, medium and hard games.
+   */
+  public static final int[] LEVELS = {2, 5, 7};
+  /**
+   * The time (in seconds) given for easy, medium and hard games.
+   */
+  public static final int[] TIME_LIMITS = {60, 90, 120};
+  /**
+   * The number of questions asked in each country.
+   */
+  public static final int QUESTIONS_PER_COUNTRY = 2;
+  /**
+   * The number of destinations shown on the map.
+   */
+  public static final int DESTINATIONS = 3;
+  /**
+   * The points given for a correct answer or destination.
+   */
+  public static final int CORRECT_POINTS = 30;
+  /**
+   * The points taken away for a wrong answer or destination.
+   */
+  public static final int WRONG_POINTS = 10;
+  /**
+   * The number of nanoseconds in a second.
+   */
+  private static final long SECOND = 1000000000L;
+  /**
+   * Holds the difficulty: 0 easy, 1 medium, 2 hard.
+   */
+  private final int difficulty;
+  /**
+   * Holds every country in the game.
+   */
+  private final CountryRegistry countries;
+  /**
+   * Deals the questions, so no question is repeated within the game.
+   */
+  private final QuestionDeck deck;
+  /**
+   * Draws the destinations shown on the map.
+   */
+  private final DestinationSampler sampler;
+  /**
+   * Holds the countries which have been completed, in order.
+   */
+  private final ArrayList<Country> alreadyBeen = new ArrayList<Country> ();
+  /**
+   * Holds the country the player is in (or, at the map, the correct destination).
+   */
+  private Country currentCountry;
+  /**
+   * Holds the destinations on the map, the correct one first.
+   */
+  private Country[] destinations;
+  /**
+   * Holds the question being asked.
+   */
+  private Question question;
+  /**
+   * Holds the number of questions already answered in the current country.
+   */
+  private int currentQuestion;
+  /**
+   * Holds the number of countries left to complete.
+   */
+  private int levelsRemaining;
+  /**
+   * Holds the score.
+   */
+  private int score;
+  /**
+   * Holds the time left, in nanoseconds, while the clock is not running in real time.
+   */
+  private long remaining;
+  /**
+   * Holds the time (from <code>clock</code>) at which the time will run out, while the
+   * clock is running in real time.
+   */
+  private long deadline;
+  /**
+   * The source of the time, in nanoseconds, or null if the clock only moves when it is ticked.
+   */
+  private LongSupplier clock;
+  /**
+   * Whether the clock is stopped.
+   */
+  private boolean paused;
+  /**
+   * Holds the stage the game is in.
+   */
+  private Stage stage;
+  /**
+   * Answers the question being asked. A correct answer moves on to the next question, or
+   * to the map once every question of the country has been answered.
+   *
+   * If statement checks whether the time has run out.
+   * If statement checks whether the answer is correct.
+   * If statement checks whether the country has been completed.
+   *
+   * @param choice char the answer chosen, 'A' to 'D'.
+   * @return boolean true only if the answer was correct; false if the time has run out.
+   * @throws IllegalStateException if no question is being asked.
+   */
+  public synchronized boolean answer (char choice)
+  {
+    if (checkClock () || isOver ())
+      return false;
+    checkStage (Stage.QUESTION);
+    if (question.getAnswer () != choice)
+    {
+      score -= WRONG_POINTS;
+      return false;
+    }
+    score += CORRECT_POINTS;
+    currentQuestion++;
+    if (currentQuestion < QUESTIONS_PER_COUNTRY)
+      question = deck.draw (currentCountry, difficulty);
+    else
+    {
+      levelsRemaining--;
+      alreadyBeen.add (currentCountry);
+      enterMap ();
+    }
+    return true;
+  }
+  /**
+   * Chooses a destination on the map. Choosing the correct one travels there.
+   *
+   * If statement checks whether the time has run out.
+   * If statement checks whether the destination is correct.
+   *
+   * @param destination int the number of the destination chosen; 0 is the correct one.
+   * @return boolean true only if the destination was correct; false if the time has run out.
+   * @throws IllegalStateException if the map is not being shown.
+   */
+  public synchronized boolean travel (int destination)
+  {
+    if (checkClock () || isOver ())
+      return false;
+    checkStage (Stage.MAP);
+    if (destination != 0)
+    {
+      score -= WRONG_POINTS;
+      return false;
+    }
+    score += CORRECT_POINTS;
+    enterCountry ();
+    return true;
+  }
+  /**
+   * Counts down one second, unless the clock is stopped or the game is over.
+   * Used by simulations, whose clocks do not run in real time.
+   *
+   * If statement checks whether the clock is stopped.
+   * If statement checks whether the clock is running in real time.
+   *
+   * @return boolean true only if the time ran out on this second.
+   */
+  public synchronized boolean tick ()
+  {
+    if (paused || isOver ())
+      return false;
+    if (isRunning ())
+      deadline -= SECOND;
+    else
+      remaining -= SECOND;
+    return checkClock ();
+  }
+  /**
+   * Starts the clock counting down in real time, using the given time source.
+   * Nothing happens if it has already been started.
+   *
+   * If statement checks whether the clock has already been started.
+   *
+   * @param clock LongSupplier the time source, in nanoseconds (such as System::nanoTime).
+   */
+  public synchronized void startClock (LongSupplier clock)
+  {
+    if (this.clock != null)
+      return;
+    this.clock = clock;
+    if (!paused)
+      deadline = clock.getAsLong () + remaining;
+  }
+  /**
+   * Ends the game if its time has run out.
+   *
+   * If statement checks whether the time has run out.
+   *
+   * @return boolean true only if the time ran out just now.
+   */
+  public synchronized boolean checkClock ()
+  {
+    if (isOver () || getTimeRemainingNanos () > 0)
+      return false;
+    freezeClock ();
+    remaining = 0;
+    stage = Stage.LOST;
+    return true;
+  }
+  /**
+   * Returns true only if the clock is counting down in real time right now.
+   *
+   * @return boolean true only if the clock is running.
+   */
+  private boolean isRunning ()
+  {
+    return clock != null && !paused && !isOver ();
+  }
+  /**
+   * Stops the clock counting down in real time, keeping the time left.
+   *
+   * If statement checks whether the clock is running.
+   */
+  private void freezeClock ()
+  {
+    if (isRunning ())
+      remaining = deadline - clock.getAsLong ();
+  }
+  /**
+   * Returns a new session at the next difficulty, which keeps this session's score,
+   * or null if this was a hard game.
+   *
+   * @return GameSession the next game, or null.
+   */
+  public synchronized GameSession nextLevel ()
+  {
+    if (difficulty + 1 >= LEVELS.length)
+      return null;
+    return new GameSession (difficulty + 1, countries, new ArrayList<Country> (), countries.getFirst (),
+                            score, TIME_LIMITS [difficulty + 1], new SplittableRandom ());
+  }
+  /**
+   * Arrives in the current country, which can then no longer be drawn as a destination.
+   * The game is won if every level is done, and otherwise the first question of the country is drawn.
+   *
+   * If statement checks whether every level is done.
+   */
+  private void enterCountry ()
+  {
+    currentQuestion = 0;
+    destinations = null;
+    sampler.visit (currentCountry.getId ());
+    if (levelsRemaining <= 0)
+    {
+      freezeClock ();
+      stage = Stage.WON;
+      score += (int) (getTimeRemainingMillis () / 1000);
+      question = null;
+    }
+    else
+    {
+      stage = Stage.QUESTION;
+      question = deck.draw (currentCountry, difficulty);
+    }
+  }
+  /**
+   * Draws the destinations for the map. The first one becomes the current country.
+   *
+   * For loop looks up each destination.
+   */
+  private void enterMap ()
+  {
+    int[] drawn = sampler.draw (DESTINATIONS);
+    destinations = new Country [drawn.length];
+    for (int x = 0; x < drawn.length; x++)
+      destinations [x] = countries.get (drawn [x]);
+    currentCountry = destinations [0];
+    question = null;
+    stage = Stage.MAP;
+  }
+  /**
+   * Checks that the game is in the given stage.
+   *
+   * @param expected Stage the stage the game should be in.
+   * @throws IllegalStateException if it is in another stage.
+   */
+  private void checkStage (Stage expected)
+  {
+    if (stage != expected)
+      throw new IllegalStateException ("Expected " + expected + " but the game is at " + stage);
+  }
+  /**
+   * Stops or restarts the clock. The time left when it is stopped is kept exactly, so
+   * pauses of any length never take time from the player.
+   *
+   * If statement checks whether anything changes.
+   * If statement starts the real-time countdown again from the time left.
+   *
+   * @param paused boolean true to stop the clock.
+   */
+  public synchronized void setPaused (boolean paused)
+  {
+    if (paused == this.paused)
+      return;
+    freezeClock ();
+    this.paused = paused;
+    if (isRunning ())
+      deadline = clock.getAsLong () + remaining;
+  }
+  /**
+   * Returns true only if the clock is stopped.
+   *
+   * @return boolean true only if the clock is stopped.
+   */
+  public synchronized boolean isPaused ()
+  {
+    return paused;
+  }
+  /**
+   * Returns true only if the game has been won or lost.
+   *
+   * @return boolean true only if the game is over.
+   */
+  public synchronized boolean isOver ()
+  {
+    return stage == Stage.WON || stage == Stage.LOST;
+  }
+  /**
+   * Returns the stage the game is in.
+   *
+   * @return Stage the stage.
+   */
+  public synchronized Stage getStage ()
+  {
+    return stage;
+  }
+  /**
+   * Returns the difficulty.
+   *
+   * @return int the difficulty: 0 easy, 1 medium, 2 hard.
+   */
+  public int getDifficulty ()
+  {
+    return difficulty;
+  }
+  /**
+   * Returns the country the player is in. At the map, this is the correct destination.
+   *
+   * @return Country the current country.
+   */
+  public synchronized Country getCountry ()
+  {
+    return currentCountry;
+  }
+  /**
+   * Returns the destinations on the map, the correct one first.
+   * Screens should show them in a shuffled order.
+   *
+   * @return Country[] the destinations, or null if the map is not being shown.
+   */
+  public synchronized Country[] getDestinations ()
+  {
+    return destinations == null ? null : destinations.clone ();
+  }
+  /**
+   * Returns the question being asked.
+   *
+   * @return Question the question, or null if no question is being asked.
+   */
+  public synchronized Question getQuestion ()
+  {
+    return question;
+  }
+  /**
+   * Returns the number of questions already answered in the current country.
+   *
+   * @return int the number of questions answered, from 0.
+   */
+  public synchronized int getQuestionNumber ()
+  {
+    return currentQuestion;
+  }
+  /**
+   * Returns the countries which have been completed, in order.
+   *
+   * @return List the countries visited.
+   */
+  public synchronized List<Country> getVisited ()
+  {
+    return Collections.unmodifiableList (new ArrayList<Country> (alreadyBeen));
+  }
+  /**
+   * Returns the number of countries left to complete.
+   *
+   * @return int the number of levels left.
+   */
+  public synchronized int getLevelsRemaining ()
+  {
+    return levelsRemaining;
+  }
+  /**
+   * Returns the score.
+   *
+   * @return int the score.
+   */
+  public synchronized int getScore ()
+  {
+    return score;
+  }
+  /**
+   * Returns the time left, as it is shown to the player: in whole seconds, rounded up,
+   * so the clock shows 0 only once the time has run out.
+   *
+   * @return int the time left, in seconds.
+   */
+  public synchronized int getTimeRemaining ()
+  {
+    return (int) ((getTimeRemainingNanos () + SECOND - 1) / SECOND);
+  }
+  /**
+   * Returns the time left, in milliseconds.
+   *
+   * @return long the time left, in milliseconds.
+   */
+  public synchronized long getTimeRemainingMillis ()
+  {
+    return getTimeRemainingNanos () / 1000000;
+  }
+  /**
+   * Returns the time left, in nanoseconds.
+   *
+   * @return long the time left, in nanoseconds, never less than 0.
+   */
+  public synchronized long getTimeRemainingNanos ()
+  {
+    return Math.max (0, isRunning () ? deadline - clock.getAsLong () : remaining);
+  }
+  /**
+   * Starts a new game at the first country.
+   *
+   * @param difficulty int the difficulty: 0 easy, 1 medium, 2 hard.
+   * @param countries CountryRegistry every country in the game.
+   */
+  public GameSession (int difficulty, CountryRegistry countries)
+  {
+    this (difficulty, countries, new SplittableRandom ());
+  }
+  /**
+   * Starts a new game at the first country, using the given random number generator
+   * for the questions and destinations.
+   *
+   * @param difficulty int the difficulty: 0 easy, 1 medium, 2 hard.
+   * @param countries CountryRegistry every country in the game.
+   * @param random SplittableRandom the generator to use.
+   */
+  public GameSession (int difficulty, CountryRegistry countries, SplittableRandom random)
+  {
+    this (difficulty, countries, new ArrayList<Country> (), countries.getFirst (), 0, TIME_LIMITS [difficulty], random);
+  }
+  /**
+   * Resumes a game, such as one from a saved file. The game continues at the start of
+   * <code>current</code>.
+   *
+   * For loop marks each country visited.
+   * For loop marks any id without a country as visited, so it is never drawn.
+   *
+   * @param difficulty int the difficulty: 0 easy, 1 medium, 2 hard.
+   * @param countries CountryRegistry every country in the game.
+   * @param visited List the countries already completed.
+   * @param current Country the country the player is in.
+   * @param score int the score so far.
+   * @param timeRemaining int the time left, in seconds.
+   * @param random SplittableRandom the generator to use.
+   */
+  public GameSession (int difficulty, CountryRegistry countries, List<Country> visited, Country current,
+                      int score, int timeRemaining, SplittableRandom random)
+  {
+    this.difficulty = difficulty;
+    this.countries = countries;
+    this.score = score;
+    remaining = timeRemaining * SECOND;
+    deck = new QuestionDeck (random.split ());
+    sampler = new DestinationSampler (countries.getIdCount (), random.split ());
+    for (int id = 0; id < countries.getIdCount (); id++)
+      if (countries.get (id) == null)
+        sampler.visit (id);
+    for (Country c : visited)
+    {
+      alreadyBeen.add (c);
+      sampler.visit (c.getId ());
+    }
+    levelsRemaining = LEVELS [difficulty] - alreadyBeen.size ();
+    currentCountry = current;
+    enterCountry ();
+  }
+}
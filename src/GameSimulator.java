@@ -0,0 +1,539 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+/**
+ * Plays large numbers of simulated games through GameSession, using PlayerModel to decide
+ * how each simulated player answers, and reports the scores, win rates and how often each
+ * question is answered correctly on the first try. The games are split into batches which
+ * a fork/join pool plays on every processor at once.
+ * Run it from the game's folder:
+ * <p>
+ * <code>java GameSimulator [-n games] [-d easy|medium|hard|all] [-seed n] [-csv file] [model...]</code>
+ * <p>
+ * With no arguments it plays 1,000,000 games at each difficulty for the novice, average and
+ * expert models. Models are written as described in PlayerModel. The same seed always gives
+ * the same results, however many processors there are. With <code>-csv</code>, the pass
+ * rate of every question is written to a file as well.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class GameSimulator
+{
+  /**
+   * The largest number of games played by a single batch before it is split in two.
+   */
+  private static final int BATCH = 4096;
+  /**
+   * The lowest and highest scores kept apart in the histogram; scores beyond them are
+   * counted with the lowest or highest.
+   */
+  private static final int MIN_SCORE = -2000, MAX_SCORE = 2000;
+  /**
+   * Holds every country in the game.
+   */
+  private final CountryRegistry countries;
+  /**
+   * The results of some simulated games.
+   */
+  public static class Results
+  {
+    /**
+     * Holds the number of games played.
+     */
+    private long games;
+    /**
+     * Holds the number of games won.
+     */
+    private long wins;
+    /**
+     * Holds the sum of the scores.
+     */
+    private double sum;
+    /**
+     * Holds the sum of the squares of the scores.
+     */
+    private double sumOfSquares;
+    /**
+     * Holds the number of games with each score, from <code>MIN_SCORE</code>.
+     */
+    private final long[] histogram = new long [MAX_SCORE - MIN_SCORE + 1];
+    /**
+     * Holds, for each question, the number of times it was asked and the number of
+     * times it was answered correctly on the first try.
+     */
+    private final HashMap<Long, long[]> questions = new HashMap<Long, long[]> ();
+    /**
+     * Holds one copy of each question asked, so its text can be reported.
+     */
+    private final HashMap<Long, Question> examples = new HashMap<Long, Question> ();
+    /**
+     * Adds the result of one game.
+     *
+     * @param session GameSession the finished game.
+     */
+    void add (GameSession session)
+    {
+      int score = session.getScore ();
+      games++;
+      if (session.getStage () == GameSession.Stage.WON)
+        wins++;
+      sum += score;
+      sumOfSquares += (double) score * score;
+      histogram [Math.max (MIN_SCORE, Math.min (MAX_SCORE, score)) - MIN_SCORE]++;
+    }
+    /**
+     * Adds the first answer given to a question.
+     *
+     * If statement creates the question's counts the first time it is asked.
+     *
+     * @param country Country the country the question belongs to.
+     * @param q Question the question.
+     * @param passed boolean true if the first answer was correct.
+     */
+    void add (Country country, Question q, boolean passed)
+    {
+      long key = (long) country.getId () << 32 | q.getStemId () & 0xffffffffL;
+      long[] counts = questions.get (key);
+      if (counts == null)
+      {
+        counts = new long [2];
+        questions.put (key, counts);
+        examples.put (key, q);
+      }
+      counts [0]++;
+      if (passed)
+        counts [1]++;
+    }
+    /**
+     * Adds the results of other games to these ones.
+     *
+     * For loop adds each score count.
+     * For loop adds each question's counts.
+     *
+     * @param other Results the other results.
+     * @return Results these results.
+     */
+    Results merge (Results other)
+    {
+      games += other.games;
+      wins += other.wins;
+      sum += other.sum;
+      sumOfSquares += other.sumOfSquares;
+      for (int x = 0; x < histogram.length; x++)
+        histogram [x] += other.histogram [x];
+      for (Map.Entry<Long, long[]> e : other.questions.entrySet ())
+      {
+        long[] counts = questions.get (e.getKey ());
+        if (counts == null)
+        {
+          questions.put (e.getKey (), e.getValue ());
+          examples.put (e.getKey (), other.examples.get (e.getKey ()));
+        }
+        else
+        {
+          counts [0] += e.getValue () [0];
+          counts [1] += e.getValue () [1];
+        }
+      }
+      return this;
+    }
+    /**
+     * Returns the number of games played.
+     *
+     * @return long the number of games.
+     */
+    public long getGames ()
+    {
+      return games;
+    }
+    /**
+     * Returns the fraction of games which were won.
+     *
+     * @return double the win rate, from 0 to 1.
+     */
+    public double getWinRate ()
+    {
+      return games == 0 ? 0 : (double) wins / games;
+    }
+    /**
+     * Returns the average score.
+     *
+     * @return double the mean score.
+     */
+    public double getMean ()
+    {
+      return games == 0 ? 0 : sum / games;
+    }
+    /**
+     * Returns the standard deviation of the scores.
+     *
+     * @return double the standard deviation.
+     */
+    public double getStandardDeviation ()
+    {
+      double mean = getMean ();
+      return games == 0 ? 0 : Math.sqrt (Math.max (0, sumOfSquares / games - mean * mean));
+    }
+    /**
+     * Returns the score which the given fraction of games scored at or below.
+     *
+     * For loop adds up the histogram until it reaches the fraction.
+     *
+     * @param fraction double the fraction of games, from 0 to 1.
+     * @return int the score.
+     */
+    public int getPercentile (double fraction)
+    {
+      long target = (long) Math.ceil (fraction * games);
+      long seen = 0;
+      for (int x = 0; x < histogram.length; x++)
+      {
+        seen += histogram [x];
+        if (seen >= Math.max (1, target))
+          return x + MIN_SCORE;
+      }
+      return MAX_SCORE;
+    }
+  }
+  /**
+   * Plays a range of games, splitting it in two while it is larger than <code>BATCH</code>.
+   */
+  private class Batch extends RecursiveTask<Results>
+  {
+    /**
+     * The version of the class's serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * The player model to use.
+     */
+    private final PlayerModel model;
+    /**
+     * The difficulty of the games.
+     */
+    private final int difficulty;
+    /**
+     * The seed of the whole simulation.
+     */
+    private final long seed;
+    /**
+     * The number of the first game in the range.
+     */
+    private final long from;
+    /**
+     * One more than the number of the last game in the range.
+     */
+    private final long to;
+    /**
+     * Plays the range of games.
+     *
+     * If statement splits the range if it is too large.
+     * For loop plays each game.
+     *
+     * @return Results the results of the games.
+     */
+    protected Results compute ()
+    {
+      if (to - from > BATCH)
+      {
+        long middle = (from + to) >>> 1;
+        Batch right = new Batch (model, difficulty, seed, middle, to);
+        right.fork ();
+        Results left = new Batch (model, difficulty, seed, from, middle).compute ();
+        return left.merge (right.join ());
+      }
+      Results results = new Results ();
+      for (long game = from; game < to; game++)
+        play (model, difficulty, new SplittableRandom (seed * 0x9E3779B97F4A7C15L + game), results);
+      return results;
+    }
+    /**
+     * Creates a batch.
+     *
+     * @param model PlayerModel the player model to use.
+     * @param difficulty int the difficulty of the games.
+     * @param seed long the seed of the whole simulation.
+     * @param from long the number of the first game.
+     * @param to long one more than the number of the last game.
+     */
+    Batch (PlayerModel model, int difficulty, long seed, long from, long to)
+    {
+      this.model = model;
+      this.difficulty = difficulty;
+      this.seed = seed;
+      this.from = from;
+      this.to = to;
+    }
+  }
+  /**
+   * Plays <code>games</code> games with the given model and difficulty on every processor.
+   *
+   * @param model PlayerModel the player model to use.
+   * @param difficulty int the difficulty: 0 easy, 1 medium, 2 hard.
+   * @param games long the number of games to play.
+   * @param seed long the seed; the same seed always gives the same results.
+   * @return Results the results of the games.
+   */
+  public Results simulate (PlayerModel model, int difficulty, long games, long seed)
+  {
+    return ForkJoinPool.commonPool ().invoke (new Batch (model, difficulty, seed, 0, games));
+  }
+  /**
+   * Plays one game and adds its results.
+   * Each choice takes the model's think time, and the clock is ticked once for every
+   * whole second which has passed.
+   *
+   * While loop makes choices until the game is over.
+   * While loop ticks the clock.
+   * If statements decide what the player does at each stage.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> clock </b> double - the time passed since the clock last ticked, in seconds.
+   * <p>
+   * <b> asked </b> Question - the question the player is working on.
+   * <p>
+   * <b> known </b> boolean - whether the player knows the answer, or the destination.
+   * <p>
+   * <b> ruledOut </b> boolean[] - the choices already tried and found to be wrong.
+   * <p>
+   * <b> first </b> boolean - whether the next answer is the first one given to the question.
+   * <p>
+   * <b> stage </b> GameSession.Stage - the stage the game was in when the last choice was made.
+   *
+   * @param model PlayerModel the player model to use.
+   * @param difficulty int the difficulty of the game.
+   * @param random SplittableRandom the generator for the game.
+   * @param results Results receives the results.
+   */
+  private void play (PlayerModel model, int difficulty, SplittableRandom random, Results results)
+  {
+    GameSession session = new GameSession (difficulty, countries, random.split ());
+    double clock = 0;
+    Question asked = null;
+    boolean known = false;
+    boolean first = true;
+    boolean[] ruledOut = new boolean [4];
+    GameSession.Stage stage = null;
+    while (!session.isOver ())
+    {
+      clock += model.thinkTime (random);
+      while (clock >= 1 && !session.isOver ())
+      {
+        clock--;
+        session.tick ();
+      }
+      if (session.isOver ())
+        break;
+      GameSession.Stage now = session.getStage ();
+      if (now == GameSession.Stage.QUESTION)
+      {
+        Question q = session.getQuestion ();
+        if (q != asked)
+        {
+          asked = q;
+          known = model.knows (difficulty, random);
+          first = true;
+          Arrays.fill (ruledOut, false);
+        }
+        char correct = q.getAnswer ();
+        int choice = known ? correct - 'A' : guess (ruledOut, 4, random);
+        Country country = session.getCountry ();
+        boolean passed = session.answer ((char) ('A' + choice));
+        if (first)
+          results.add (country, q, passed);
+        first = false;
+        ruledOut [choice] = true;
+      }
+      else
+      {
+        if (stage != GameSession.Stage.MAP)
+        {
+          known = model.recognizes (random);
+          Arrays.fill (ruledOut, false);
+        }
+        int choice = known ? 0 : guess (ruledOut, GameSession.DESTINATIONS, random);
+        session.travel (choice);
+        ruledOut [choice] = true;
+        asked = null;
+      }
+      stage = now;
+    }
+    results.add (session);
+  }
+  /**
+   * Returns a random choice out of those not yet ruled out.
+   *
+   * For loop counts down to the chosen choice.
+   *
+   * @param ruledOut boolean[] the choices already ruled out.
+   * @param count int the number of choices.
+   * @param random SplittableRandom the generator to use.
+   * @return int the choice.
+   */
+  private static int guess (boolean[] ruledOut, int count, SplittableRandom random)
+  {
+    int open = 0;
+    for (int x = 0; x < count; x++)
+      if (!ruledOut [x])
+        open++;
+    int pick = random.nextInt (open);
+    for (int x = 0; x < count; x++)
+      if (!ruledOut [x] && pick-- == 0)
+        return x;
+    return 0;
+  }
+  /**
+   * Writes a report of some results.
+   *
+   * For loop lists the questions with the lowest pass rates.
+   *
+   * @param out PrintStream where the report is written.
+   * @param model PlayerModel the model which was played.
+   * @param difficulty int the difficulty which was played.
+   * @param r Results the results.
+   * @param millis long how long the games took to play, in milliseconds.
+   */
+  private void report (PrintStream out, PlayerModel model, int difficulty, Results r, long millis)
+  {
+    out.printf ("%s, %s: %,d games in %.2f s (%,.0f games/s)%n", model.getName (),
+                QuestionBank.DIFFICULTIES [difficulty], r.getGames (), millis / 1000.0,
+                r.getGames () * 1000.0 / Math.max (1, millis));
+    out.printf ("  win rate %.1f%%, score mean %.1f, sd %.1f%n", r.getWinRate () * 100, r.getMean (),
+                r.getStandardDeviation ());
+    out.printf ("  score p1 %d, p10 %d, p50 %d, p90 %d, p99 %d%n", r.getPercentile (0.01),
+                r.getPercentile (0.1), r.getPercentile (0.5), r.getPercentile (0.9), r.getPercentile (0.99));
+    ArrayList<Long> keys = sortedByPassRate (r);
+    out.println ("  lowest first-try pass rates:");
+    for (int x = 0; x < Math.min (5, keys.size ()); x++)
+    {
+      long[] counts = r.questions.get (keys.get (x));
+      out.printf ("    %5.1f%% of %,d  %s: %s%n", 100.0 * counts [1] / counts [0], counts [0],
+                  countries.get ((int) (keys.get (x) >>> 32)).getName (), r.examples.get (keys.get (x)).getStem ());
+    }
+  }
+  /**
+   * Returns the questions of some results, from the lowest pass rate to the highest.
+   *
+   * @param r Results the results.
+   * @return ArrayList the keys of the questions.
+   */
+  private static ArrayList<Long> sortedByPassRate (final Results r)
+  {
+    ArrayList<Long> keys = new ArrayList<Long> (r.questions.keySet ());
+    Collections.sort (keys, new Comparator<Long> ()
+    {
+      public int compare (Long a, Long b)
+      {
+        long[] x = r.questions.get (a);
+        long[] y = r.questions.get (b);
+        return Double.compare ((double) x [1] / x [0], (double) y [1] / y [0]);
+      }
+    });
+    return keys;
+  }
+  /**
+   * Writes the pass rate of every question in some results as comma-separated values.
+   *
+   * For loop writes each question.
+   *
+   * @param out PrintWriter where the values are written.
+   * @param model PlayerModel the model which was played.
+   * @param difficulty int the difficulty which was played.
+   * @param r Results the results.
+   */
+  private void writeCsv (PrintWriter out, PlayerModel model, int difficulty, Results r)
+  {
+    for (long key : sortedByPassRate (r))
+    {
+      long[] counts = r.questions.get (key);
+      out.println (model.getName () + "," + QuestionBank.DIFFICULTIES [difficulty] + "," +
+                   countries.get ((int) (key >>> 32)).getName () + ",\"" +
+                   r.examples.get (key).getStem ().replace ("\"", "\"\"") + "\"," +
+                   counts [0] + "," + counts [1] + "," + (double) counts [1] / counts [0]);
+    }
+  }
+  /**
+   * Reads the arguments, plays the games and writes the reports.
+   *
+   * For loop reads the arguments.
+   * For loops play every model at every difficulty chosen.
+   *
+   * Try block writes the comma-separated values, if they were asked for.
+   *
+   * @param args String[] the arguments described above.
+   * @throws IOException if the question bank could not be read or the file could not be written.
+   */
+  public static void main (String[] args) throws IOException
+  {
+    long games = 1000000;
+    long seed = 1;
+    String csv = null;
+    int[] difficulties = {0, 1, 2};
+    ArrayList<PlayerModel> models = new ArrayList<PlayerModel> ();
+    for (int x = 0; x < args.length; x++)
+    {
+      if (args [x].equals ("-n"))
+        games = Long.parseLong (args [++x]);
+      else if (args [x].equals ("-seed"))
+        seed = Long.parseLong (args [++x]);
+      else if (args [x].equals ("-csv"))
+        csv = args [++x];
+      else if (args [x].equals ("-d"))
+      {
+        x++;
+        int d = Arrays.asList (QuestionBank.DIFFICULTIES).indexOf (args [x]);
+        if (d >= 0)
+          difficulties = new int[] {d};
+        else if (!args [x].equals ("all"))
+          throw new IllegalArgumentException ("Unknown difficulty: " + args [x]);
+      }
+      else
+        models.add (PlayerModel.parse (args [x]));
+    }
+    if (models.isEmpty ())
+      models.addAll (Arrays.asList (PlayerModel.NOVICE, PlayerModel.AVERAGE, PlayerModel.EXPERT));
+    CountryRegistry countries = new CountryRegistry ();
+    QuestionBank.load (countries);
+    countries.loadPacks (new QuestionBank.CountryListener ()
+    {
+      public void country (Country c)
+      {
+      }
+    });
+    GameSimulator simulator = new GameSimulator (countries);
+    PrintWriter out = csv == null ? null : new PrintWriter (new FileWriter (csv));
+    try
+    {
+      if (out != null)
+        out.println ("model,difficulty,country,question,asked,passed,rate");
+      System.out.println ("Playing on " + ForkJoinPool.commonPool ().getParallelism () + " threads");
+      for (PlayerModel model : models)
+      {
+        for (int d : difficulties)
+        {
+          long start = System.nanoTime ();
+          Results r = simulator.simulate (model, d, games, seed);
+          simulator.report (System.out, model, d, r, (System.nanoTime () - start) / 1000000);
+          if (out != null)
+            simulator.writeCsv (out, model, d, r);
+        }
+      }
+    }
+    finally
+    {
+      if (out != null)
+        out.close ();
+    }
+  }
+  /**
+   * Creates a simulator which plays with the given countries.
+   *
+   * @param countries CountryRegistry every country in the game.
+   */
+  public GameSimulator (CountryRegistry countries)
+  {
+    this.countries = countries;
+  }
+}
@@ -1,79 +1,98 @@
 import javax.swing.*;
 import java.awt.event.*;
+import java.util.concurrent.atomic.*;
 /**
  * This is the GameTimer class that controls the running and display of the timer used in the game.
- * It is a countdown timer.
+ * It is a countdown timer. The counting is done by a Countdown on the shared TimerService,
+ * so the game does not need a thread of its own.
+ * <p>
+ * The countdown calls this class on the timer thread, but every change to the screen is made
+ * on the event dispatch thread. The label is only ever changed there, and at most one label
+ * update waits in the event queue at a time, however slow the event dispatch thread is; the
+ * update shows whatever the time is when it runs. The game state itself is kept by the
+ * session, whose methods are synchronized.
  * 
  * @author Zachary Teper (0 hours) and Angela Zhu (3.5 hours)
  * @version 1.0 05.24.2015
  */
-public class GameTimer extends Thread
+public class GameTimer implements Countdown.Listener
 {
   /**
-   * The int variable startingTime stores the total number of time (in seconds) that the user has to play the game.
-   * It would be 1 minute for easy, 1.5 minutes for medium, and 2 minutes for hard.
+   * The GameSession variable session is the game being timed. It holds the time
+   * (in seconds) that the user has left to complete the game, and whether the timer is paused.
    */
-  private int startingTime;
+  private final GameSession session;
   /**
-   * The int variable timeRemaining stores the time (in seconds) that the user has left to complete the game.
+   * The JLabel variable time is the label used to display the timer to the user.
    */
-  public static int timeRemaining;
+  private final JLabel time;
   /**
-   * The boolean variable paused determines whether or not the timer is being paused.
+   * The variabel panel is an instance of the class GamePanel,
+   * which is used to display the label to the panel.
    */
-  private boolean paused = false;
+  private final GamePanel panel;
   /**
-   * The boolean variable gameWon determines whether or not the user has won the game.
+   * The variable source is an instance of the class ScarletGemMain, 
+   * which is used to control the endGame method in the ScarletGemMain class.
    */
-  private boolean gameWon = false;
+  private final ScarletGemMain source;
   /**
-   * The JLabel variable time is the label used to display the timer to the user.
+   * The variable countdown counts down the session's clock on the shared TimerService.
    */
-  private JLabel time;
+  private final Countdown countdown;
   /**
-   * The variabel panel is an instance of the class GamePanel,
-   * which is used to display the label to the panel.
+   * The int variable shown is the number of seconds last shown on the label, so the label
+   * is only changed when the second changes. Only used on the event dispatch thread.
    */
-  private GamePanel panel;
+  private int shown = -1;
   /**
-   * The variable source is an instance of the class ScarletGemMain, 
-   * which is used to control the endGame method in the ScarletGemMain class.
+   * The variable updateQueued is true while a label update is waiting in the event queue.
+   */
+  private final AtomicBoolean updateQueued = new AtomicBoolean ();
+  /**
+   * The variable lossSent is true once the loss has been passed on to ScarletGemMain,
+   * so it is only ever passed on once.
+   */
+  private final AtomicBoolean lossSent = new AtomicBoolean ();
+  /**
+   * The variable stopped is true once the timer has been stopped for good.
+   */
+  private volatile boolean stopped;
+  /**
+   * The variable update updates the label on the event dispatch thread.
    */
-  private ScarletGemMain source;
+  private final Runnable update = new Runnable ()
+  {
+    public void run ()
+    {
+      updateQueued.set (false);
+      show ();
+    }
+  };
   
   /**
    * This is the contructor for the class GameTimer.
    * 
-   * @param difficulty, int
+   * @param session, GameSession
    * @param label, JLabel
    * @param panel, GamePanel
    * @param game, ScarletGemMain
    * 
    * <b>local variables</b>
-   * <p><b>difficulty</b> the int variable used to store the difficulty of the game.
+   * <p><b>session</b> the game being timed, which starts with 1 minute for easy,
+   * 1.5 minutes for medium and 2 minutes for hard.
    * <p><b>label</b> an instance of the JLabel class used to display the timer.
    * <p><b>panel</b> an instance of the GamePanel class, used to display the label.
    * <p><b>game</b> an instance of the ScarletGemMain class, used to control methods in the class.
-   * <p>
-   * <b>Conditional Statements</b>
-   * <p><b>If Structure #1:</b>
-   * <p>If the difficulty is 0 (easy), set the startingTime to 60.
-   * <p>Or if the difficulty is 1 (medium), set the startingTime to 90.
-   * <p>If it's neither of the above, set the startingTime to 120.
    */
-  public GameTimer (int difficulty, JLabel label, GamePanel panel,
+  public GameTimer (GameSession session, JLabel label, GamePanel panel,
   ScarletGemMain game)
   {
-    if (difficulty==0)
-      startingTime=60;
-    else if (difficulty==1)
-      startingTime=90;
-    else
-      startingTime=120;
-    timeRemaining = startingTime;
+    this.session = session;
     time = label;
     this.panel = panel;
     source=game;
+    countdown = new Countdown (session, TimerService.getShared (), this);
   }
   
   /**
@@ -83,7 +102,7 @@ public class GameTimer extends Thread
    */
   public void setPaused (boolean pause)
   {
-    paused = pause;
+    countdown.setPaused (pause);
   }
   /**
    * Returns true only if the game is currently paused.
@@ -92,70 +111,96 @@ public class GameTimer extends Thread
    */
   public boolean getPaused ()
   {
-    return paused;
+    return session.isPaused ();
   }
   /**
-   * Tells the GameTimer instance of the game has been completed.
+   * Returns true only if the game has been completed.
    * 
-   * @param won boolean the new value of the gameWon variable.
+   * @return boolean true only if game has been completed.
    */
-  public void setGameWon (boolean won)
+  public boolean getGameWon ()
   {
-    gameWon = won;
+    return session.getStage () == GameSession.Stage.WON;
   }
   /**
-   * Returns true only if the game has been completed.
+   * Shows the timer on the game panel and starts counting down from the starting time.
+   */
+  public void start ()
+  {
+    panel.add (time);
+    time.setBounds(550,50,80,30);
+    show ();
+    countdown.start ();
+  }
+  /**
+   * Stops the timer for good, when the game is over or its panel is closed.
    * 
-   * @return boolean true only if game has been completed.
+   * If statement checks if the game has been won.
    */
-  public boolean getGameWon ()
+  public void stop ()
   {
-    return gameWon;
+    stopped = true;
+    countdown.stop ();
+    if (getGameWon ())
+    {
+      panel.remove (time);
+    }
   }
   /**
-   * Starts counting down from the starting time.
-   * Regularly updates the Timer JLabel on the game panel.
-   * <b>While loops</b>
-   * <ul><li> continuously decrements the game timer.</ul>
-   * <b>If statements</b>
-   * <ul><li>checks if game is paused.
-   * <li>checks if the timer is at zero.
-   * <li> checks if the game has been won.
-   * </ul>
-   */
-  public void timer ()
+   * Called by the countdown whenever the second changes. Queues an update of the Timer JLabel,
+   * unless one is already waiting.
+   * 
+   * If statement checks that no update is already waiting.
+   * 
+   * @param session GameSession the game being timed.
+   */
+  public void tick (GameSession session)
   {
-    panel.add (time);
-    while (timeRemaining >= 0 && !gameWon)
+    if (updateQueued.compareAndSet (false, true))
+      SwingUtilities.invokeLater (update);
+  }
+  /**
+   * Called by the countdown when the time runs out. Tells ScarletGemMain the game is lost.
+   * The message is passed on through the event queue, since the loss dialog would otherwise
+   * hold up the timer thread shared by every game.
+   * 
+   * If statement makes sure the loss is only passed on once.
+   * If statement checks that the game has not already been closed.
+   * 
+   * @param session GameSession the game being timed.
+   */
+  public void expired (GameSession session)
+  {
+    if (!lossSent.compareAndSet (false, true))
+      return;
+    SwingUtilities.invokeLater (new Runnable ()
     {
-      time.setText ("Time: "+minutes()+":"+seconds());
-
-      time.setBounds(550,50,80,30);
-      panel.revalidate();
-      try
-      {
-        sleep (1000);
-      }
-      catch (InterruptedException e)
-      {
-      }
-      if (!paused)
-      {
-        timeRemaining--;
-      }
-      if (timeRemaining==0)
+      public void run ()
       {
-        setPaused(true);
-        source.actionPerformed(new ActionEvent (this
-                                                , ActionEvent.ACTION_PERFORMED,"loss"));
-        break;
+        show ();
+        if (!stopped)
+          source.actionPerformed(new ActionEvent (GameTimer.this
+                                                  , ActionEvent.ACTION_PERFORMED,"loss"));
       }
-    }
-    if (gameWon)
-    {
-      panel.remove (time);
-      gameWon = false;
-    }
+    });
+  }
+  /**
+   * Shows the time left on the Timer JLabel, if the number of seconds has changed
+   * since it was last shown. Only called on the event dispatch thread.
+   * 
+   * If statement checks if the number of seconds has changed.
+   * 
+   * <b> Local Variables </b>
+   * <p>
+   * <b> seconds </b> int - the time left, read once so the minutes and seconds agree.
+   */
+  private void show ()
+  {
+    int seconds = session.getTimeRemaining ();
+    if (seconds == shown)
+      return;
+    shown = seconds;
+    time.setText ("Time: "+seconds / 60+":"+(seconds % 60 < 10 ? "0" : "")+seconds % 60);
   }
   /**
    * Returns the number of minutes left in the game.
@@ -164,7 +209,7 @@ public class GameTimer extends Thread
    */
   public int minutes ()
   {
-    return timeRemaining / 60;
+    return session.getTimeRemaining () / 60;
   }
   /**
    * Returns a String representation of 
@@ -174,15 +219,9 @@ public class GameTimer extends Thread
    */
   public String seconds ()
   {
+    int timeRemaining = session.getTimeRemaining ();
     if (timeRemaining % 60 < 10)
       return "0" + timeRemaining % 60;
     return Integer.toString (timeRemaining % 60);
   }
-  /**
-   * Calls the timer() method to start the timer
-   */
-  public void run()
-  {
-    timer ();
-  }
 }
\ No newline at end of file
@@ -0,0 +1,554 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+/**
+ * Keeps every high score in a log which is only ever added to: a new score is one line written
+ * at the end of the file, and clearing the scores is one line too. The scores of each level are
+ * kept in a Leaderboard in memory, rebuilt from the log when the game starts, so adding a score
+ * and finding its place cost one small write and O(log n) steps however many scores there are.
+ * When the log holds many more lines than the scores still kept (after the scores are cleared),
+ * it is rewritten with only those scores in the background.
+ *
+ * If there is no log yet, the scores in the old high scores file are copied into a new one.
+ *
+ * <p>
+ * <b> Log format </b> (one record per line)
+ * <ul>
+ * <li> <code>HEADER</code> - the first line
+ * <li> <code>level score name</code> - a score; level is 0 (easy), 1 (medium) or 2 (hard)
+ * <li> <code>clear</code> - every score before this line was cleared
+ * </ul>
+ * A line which cannot be read (for example, one cut short when the game was closed) is skipped,
+ * and is ended before the next record is added so the two are never joined.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class HighScoreStore
+{
+  /**
+   * The path of the log.
+   */
+  public static final String LOG_PATH = "files/High Scores.log";
+  /**
+   * The path of the old high scores file, which is copied into the log if there is no log.
+   */
+  public static final String OLD_PATH = "files/High Scores.csi";
+  /**
+   * The number of records the log may hold beyond twice the number of scores before it is rewritten.
+   */
+  private static final int SLACK = 64;
+  /**
+   * The number of levels.
+   */
+  public static final int LEVELS = 3;
+  /**
+   * The first line of the log.
+   */
+  private static final String HEADER = "The Scarlet Gem scores";
+  /**
+   * The record which clears the scores.
+   */
+  private static final String CLEAR = "clear";
+  /**
+   * The store shared by the whole game.
+   */
+  private static HighScoreStore shared;
+  /**
+   * Rewrites logs in the background.
+   */
+  private static final ExecutorService compactor = Executors.newSingleThreadExecutor (new ThreadFactory ()
+  {
+    public Thread newThread (Runnable r)
+    {
+      Thread t = new Thread (r, "score-compactor");
+      t.setDaemon (true);
+      return t;
+    }
+  });
+  /**
+   * A score in the store.
+   */
+  public static class Score implements Comparable<Score>
+  {
+    /**
+     * The level the score was made on.
+     */
+    private final int level;
+    /**
+     * The score.
+     */
+    private final int score;
+    /**
+     * The name of the player.
+     */
+    private final String name;
+    /**
+     * The position of the score in the order the scores were made.
+     */
+    private final long sequence;
+    /**
+     * Returns the level the score was made on.
+     *
+     * @return int 0 (easy), 1 (medium) or 2 (hard).
+     */
+    public int getLevel ()
+    {
+      return level;
+    }
+    /**
+     * Returns the score.
+     *
+     * @return int the score.
+     */
+    public int getScore ()
+    {
+      return score;
+    }
+    /**
+     * Returns the name of the player.
+     *
+     * @return String the name.
+     */
+    public String getName ()
+    {
+      return name;
+    }
+    /**
+     * Puts higher scores first, and the newer of two equal scores first.
+     *
+     * If statement checks if the scores are different.
+     *
+     * @param other Score the score to compare with.
+     * @return int a negative number if this score comes first.
+     */
+    public int compareTo (Score other)
+    {
+      if (score != other.score)
+        return Integer.compare (other.score, score);
+      return Long.compare (other.sequence, sequence);
+    }
+    /**
+     * Creates a score.
+     *
+     * @param level int the level.
+     * @param score int the score.
+     * @param name String the name of the player.
+     * @param sequence long the position of the score in the order the scores were made.
+     */
+    Score (int level, int score, String name, long sequence)
+    {
+      this.level = level;
+      this.score = score;
+      this.name = name;
+      this.sequence = sequence;
+    }
+  }
+  /**
+   * The log.
+   */
+  private final File file;
+  /**
+   * Holds the scores of each level.
+   */
+  private final ArrayList<Leaderboard> levels = new ArrayList<Leaderboard> ();
+  /**
+   * Holds the position the next score will have.
+   */
+  private long sequence;
+  /**
+   * Holds the number of records in the log.
+   */
+  private int records;
+  /**
+   * Writes records at the end of the log.
+   */
+  private PrintWriter out;
+  /**
+   * Whether the log is waiting to be rewritten.
+   */
+  private boolean compactionQueued;
+  /**
+   * Returns the store shared by the whole game, reading it from the log the first time.
+   *
+   * @return HighScoreStore the shared store.
+   * @throws IOException if the log could not be read or created.
+   */
+  public static synchronized HighScoreStore getShared () throws IOException
+  {
+    if (shared == null)
+      shared = new HighScoreStore (new File (LOG_PATH), new File (OLD_PATH));
+    return shared;
+  }
+  /**
+   * Adds a score: it is written at the end of the log, and added to its level's leaderboard.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> place </b> int - the place of the new score.
+   *
+   * @param level int the level the score was made on.
+   * @param score int the score.
+   * @param name String the name of the player (line breaks are replaced by spaces).
+   * @return int the place of the new score in its level, counting from 1.
+   * @throws IOException if the score could not be written.
+   */
+  public synchronized int add (int level, int score, String name) throws IOException
+  {
+    name = name.replace ('\r', ' ').replace ('\n', ' ');
+    int place = levels.get (level).add (new Score (level, score, name, sequence++));
+    append (level + " " + score + " " + name);
+    return place;
+  }
+  /**
+   * Clears every score.
+   *
+   * For loop empties each level.
+   *
+   * @throws IOException if the record could not be written.
+   */
+  public synchronized void clear () throws IOException
+  {
+    for (Leaderboard level : levels)
+      level.clear ();
+    append (CLEAR);
+  }
+  /**
+   * Returns the best scores of a level, the best first.
+   *
+   * @param level int the level.
+   * @param count int the largest number of scores to return.
+   * @return List the scores.
+   */
+  public synchronized List<Score> top (int level, int count)
+  {
+    return levels.get (level).page (0, count);
+  }
+  /**
+   * Returns a page of a level's scores: up to <code>count</code> scores, starting after the
+   * first <code>offset</code>, the best first.
+   *
+   * @param level int the level.
+   * @param offset int the number of scores before the page.
+   * @param count int the largest number of scores on the page.
+   * @return List the scores on the page.
+   */
+  public synchronized List<Score> page (int level, int offset, int count)
+  {
+    return levels.get (level).page (offset, count);
+  }
+  /**
+   * Returns the place a score would get in a level.
+   *
+   * @param level int the level.
+   * @param score int the score.
+   * @return int the place, counting from 1.
+   */
+  public synchronized int rank (int level, int score)
+  {
+    return levels.get (level).rank (score);
+  }
+  /**
+   * Returns the number of scores kept for a level.
+   *
+   * @param level int the level.
+   * @return int the number of scores.
+   */
+  public synchronized int size (int level)
+  {
+    return levels.get (level).size ();
+  }
+  /**
+   * Writes a record at the end of the log, and has the log rewritten in the background if it
+   * holds too many records which are no longer needed.
+   *
+   * If statement checks if the record could not be written.
+   * If statement checks if the log should be rewritten.
+   *
+   * @param record String the record.
+   * @throws IOException if the record could not be written.
+   */
+  private void append (String record) throws IOException
+  {
+    out.println (record);
+    if (out.checkError ())
+      throw new IOException ("Could not write to " + file);
+    records++;
+    if (records > 2 * live () + SLACK && !compactionQueued)
+    {
+      compactionQueued = true;
+      compactor.execute (new Runnable ()
+      {
+        public void run ()
+        {
+          try
+          {
+            compact ();
+          }
+          catch (IOException e)
+          {
+            e.printStackTrace ();
+          }
+        }
+      });
+    }
+  }
+  /**
+   * Returns the number of scores kept, for every level.
+   *
+   * For loop adds up the levels.
+   *
+   * @return int the number of scores kept.
+   */
+  private int live ()
+  {
+    int live = 0;
+    for (Leaderboard level : levels)
+      live += level.size ();
+    return live;
+  }
+  /**
+   * Rewrites the log with only the scores still kept, in the order they were made. The new
+   * log is written beside the old one and then moved over it, so a crash leaves one or the other.
+   *
+   * For loop collects the scores of each level.
+   * For loop writes each score.
+   *
+   * Try block writes the new log.
+   * Try block moves it over the old one (without the guarantee if the disk cannot move files
+   * that way), and opens the log for adding again whether or not the move worked.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> scores </b> ArrayList - the scores kept, in the order they were made.
+   * <p>
+   * <b> temp </b> File - the new log, until it is moved.
+   *
+   * @throws IOException if the log could not be rewritten.
+   */
+  public synchronized void compact () throws IOException
+  {
+    compactionQueued = false;
+    ArrayList<Score> scores = new ArrayList<Score> ();
+    for (Leaderboard level : levels)
+      scores.addAll (level.getScores ());
+    Collections.sort (scores, new Comparator<Score> ()
+    {
+      public int compare (Score a, Score b)
+      {
+        return Long.compare (a.sequence, b.sequence);
+      }
+    });
+    File temp = new File (file.getPath () + ".tmp");
+    PrintWriter w = new PrintWriter (new BufferedWriter (new FileWriter (temp)));
+    try
+    {
+      w.println (HEADER);
+      for (Score s : scores)
+        w.println (s.level + " " + s.score + " " + s.name);
+    }
+    finally
+    {
+      w.close ();
+    }
+    if (w.checkError ())
+      throw new IOException ("Could not write " + temp);
+    if (out != null)
+      out.close ();
+    try
+    {
+      try
+      {
+        Files.move (temp.toPath (), file.toPath (), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      }
+      catch (AtomicMoveNotSupportedException e)
+      {
+        Files.move (temp.toPath (), file.toPath (), StandardCopyOption.REPLACE_EXISTING);
+      }
+      records = scores.size ();
+    }
+    finally
+    {
+      out = new PrintWriter (new FileWriter (file, true), true);
+    }
+  }
+  /**
+   * Reads the scores from the log.
+   *
+   * If statement checks that the log has the right first line.
+   * While loop reads each record.
+   * If statement checks if the record clears the scores.
+   *
+   * Try block reads the log.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> in </b> BufferedReader - reads the log.
+   * <p>
+   * <b> line </b> String - the record being read.
+   *
+   * @throws IOException if the log could not be read, or is not a high score log.
+   */
+  private void load () throws IOException
+  {
+    BufferedReader in = new BufferedReader (new FileReader (file));
+    try
+    {
+      String line = in.readLine ();
+      if (!HEADER.equals (line))
+        throw new IOException (file + " is not a high score log");
+      while ((line = in.readLine ()) != null)
+      {
+        records++;
+        if (line.equals (CLEAR))
+        {
+          for (Leaderboard level : levels)
+            level.clear ();
+        }
+        else
+          read (line);
+      }
+    }
+    finally
+    {
+      in.close ();
+    }
+  }
+  /**
+   * Returns whether the log ends with a line break, so a new record starts on its own line.
+   *
+   * If statement checks if the log is empty.
+   *
+   * Try block reads the last byte of the log.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> raf </b> RandomAccessFile - reads the log.
+   *
+   * @return boolean true if the log is empty or its last line is finished.
+   * @throws IOException if the log could not be read.
+   */
+  private boolean endsLine () throws IOException
+  {
+    RandomAccessFile raf = new RandomAccessFile (file, "r");
+    try
+    {
+      if (raf.length () == 0)
+        return true;
+      raf.seek (raf.length () - 1);
+      int last = raf.read ();
+      return last == '\n' || last == '\r';
+    }
+    finally
+    {
+      raf.close ();
+    }
+  }
+  /**
+   * Reads one score record, skipping it if it cannot be read.
+   *
+   * If statement checks that the record has every part and a valid level.
+   *
+   * Try block reads the numbers.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> parts </b> String[] - the level, the score and the name.
+   * <p>
+   * <b> level </b> int - the level.
+   *
+   * @param line String the record.
+   */
+  private void read (String line)
+  {
+    String[] parts = line.split (" ", 3);
+    try
+    {
+      int level = parts.length == 3 ? Integer.parseInt (parts [0]) : -1;
+      if (level >= 0 && level < LEVELS)
+        levels.get (level).add (new Score (level, Integer.parseInt (parts [1]), parts [2], sequence++));
+    }
+    catch (NumberFormatException e)
+    {
+    }
+  }
+  /**
+   * Copies the scores from the old high scores file, which lists each level's name followed
+   * by a name and a score on separate lines, until a blank line.
+   *
+   * While loop reads each line.
+   * If statements check if the line starts a level, ends one, or is a name.
+   *
+   * Try block reads the file.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> in </b> BufferedReader - reads the file.
+   * <p>
+   * <b> level </b> int - the level being read, or -1.
+   * <p>
+   * <b> line </b> String - the line being read.
+   *
+   * @param old File the old high scores file.
+   */
+  private void importOld (File old)
+  {
+    try
+    {
+      BufferedReader in = new BufferedReader (new FileReader (old));
+      try
+      {
+        int level = -1;
+        String line;
+        while ((line = in.readLine ()) != null)
+        {
+          if (line.equals ("easy") || line.equals ("medium") || line.equals ("hard"))
+            level = line.equals ("easy") ? 0 : line.equals ("medium") ? 1 : 2;
+          else if (line.equals (""))
+            level = -1;
+          else if (level >= 0)
+            read (level + " " + in.readLine () + " " + line);
+        }
+      }
+      finally
+      {
+        in.close ();
+      }
+    }
+    catch (IOException e)
+    {
+    }
+  }
+  /**
+   * Opens a store, reading its scores from <code>file</code>. If the file does not exist, it
+   * is created with the scores from <code>old</code> (if that exists).
+   *
+   * For loop creates the scores of each level.
+   * If statement checks if the log exists.
+   * If statement ends a last line which was cut short.
+   *
+   * @param file File the log.
+   * @param old File the old high scores file, or null.
+   * @throws IOException if the log could not be read or created.
+   */
+  public HighScoreStore (File file, File old) throws IOException
+  {
+    this.file = file;
+    for (int x = 0; x < LEVELS; x++)
+      levels.add (new Leaderboard ());
+    if (file.exists ())
+    {
+      load ();
+      out = new PrintWriter (new FileWriter (file, true), true);
+      if (!endsLine ())
+        out.println ();
+    }
+    else
+    {
+      if (old != null && old.exists ())
+        importOld (old);
+      compact ();
+    }
+  }
+}
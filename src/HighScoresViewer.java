@@ -64,13 +64,7 @@ public class HighScoresViewer extends JFrame implements ActionListener
    * 
    * If statements determine which action was triggered.
    * 
-   * For loop resets all elements of arrays.
-   * 
-   * try block writes an empty file.
-   * 
-   * <b> Local Variables </b>
-   * <p>
-   * <b>out </b> PrintWriter - used to write to the high scores file.
+   * try block clears the high score store.
    * 
    * @param ae ActionEvent the action that was triggered.
    */
@@ -92,311 +86,120 @@ public class HighScoresViewer extends JFrame implements ActionListener
     { 
       try
       {
-        PrintWriter out = new PrintWriter (new FileWriter ("files/High Scores.csi"));
-        out.println ("The Scarlet Gem");
-        out.println ("easy");
-        out.println ();
-        out.println ("medium");
-        out.println ();
-        out.println ("hard");
-        out.close ();
+        HighScoreStore.getShared ().clear ();
       }
       catch (IOException i)
       {
         JOptionPane.showMessageDialog(null,"Unable to write to file.");
       }
-      for (int x = 0; x < 10; x++)
-      {
-        easyScores [x] = 0;
-        easyNames [x] = "";
-        mediumScores [x] = 0;
-        mediumNames [x] = "";
-        hardScores [x] = 0;
-        hardNames [x] = "";
-      }
+      fileCheck ();
       switchLevel (0);
     }
     else
       dispose();
   }
   /**
-   * Reads in the high scores file to the arrays.
-   * 
-   * If statement checks if first line is valid.
-   * If statement checks if a valid file exists.
+   * Reads the top 10 scores of each level from the high score store into the arrays.
    * 
-   * For loop initializes arrays.
-   * 
-   * Try block checks for a valid file.
-   * Try block writes a new empty file.
+   * Try block reads the store.
    * 
    * <b> Local variables </b>
    * <p>
-   * <b> fileExist </b> boolean - checks if a valid file exists.
-   * <p>
-   * <b> in </b> BufferedReader - checks if the first line of an 
-   * existing file is valid.
-   * <p>
-   * <b> out </b> PrintWriter - writes a new empty file.
+   * <b> store </b> HighScoreStore - the high scores.
    */
   public static void fileCheck ()
   {
-    boolean fileExist = false;
-    
     try
     {
-      BufferedReader in = new BufferedReader (new FileReader ("files/High Scores.csi"));
-      if (in.readLine ().equals ("The Scarlet Gem"))
-        fileExist = true;
+      HighScoreStore store = HighScoreStore.getShared ();
+      fill (easyScores, easyNames, store.top (0, 10));
+      fill (mediumScores, mediumNames, store.top (1, 10));
+      fill (hardScores, hardNames, store.top (2, 10));
     }
     catch (IOException e)
     {
       JOptionPane.showMessageDialog(null,"File unreadable.");
+      java.util.List<HighScoreStore.Score> none = new java.util.ArrayList<HighScoreStore.Score> ();
+      fill (easyScores, easyNames, none);
+      fill (mediumScores, mediumNames, none);
+      fill (hardScores, hardNames, none);
     }
-    
-    if (fileExist == false)
+  }
+  /**
+   * Copies the scores of one level into its arrays.
+   * 
+   * For loop copies each score, or blanks the places left empty.
+   * If statement checks if there is a score for the place.
+   * 
+   * @param scores int[] the array of scores.
+   * @param names String[] the array of names.
+   * @param top List the best scores of the level, the best first.
+   */
+  private static void fill (int[] scores, String[] names, java.util.List<HighScoreStore.Score> top)
+  {
+    for (int x = 0; x < 10; x++)
     {
-      try
-      {
-        PrintWriter out = new PrintWriter (new FileWriter ("files/High Scores.csi"));
-        out.println ("The Scarlet Gem");
-        out.println ("easy");
-        out.println ();
-        out.println ("medium");
-        out.println ();
-        out.println ("hard");
-        out.close ();
-      }
-      catch (IOException e)
+      if (x < top.size ())
       {
-        JOptionPane.showMessageDialog(null,"Unable to write to file.");
+        scores [x] = top.get (x).getScore ();
+        names [x] = top.get (x).getName ();
       }
-      for (int x = 0; x < 10; x++)
+      else
       {
-        easyScores [x] = 0;
-        easyNames [x] = "";
-        mediumScores [x] = 0;
-        mediumNames [x] = "";
-        hardScores [x] = 0;
-        hardNames [x] = "";
+        scores [x] = 0;
+        names [x] = "";
       }
     }
   }
   
-  /**writes entry to file, puts it automatically in top 10 order.
-    * 
-    * If statement checks if the first line of file is valid.
-    * For loop and if reads easy names and scores until a blank line is reached.
-    * For loop and if read medium names and scores until a blank line is reached.
-    * For loop and if read hard names and scores until a blank line is reached.
-    * If statement checks if level is Easy
-    * If statement checks if level is Medium
-    * If statement checks if level is Hard
+  /**adds an entry to the high score store, which keeps every score in order,
+    * tells the user where the score placed among all the scores of its level,
+    * and reads the new top 10 scores into the arrays.
     * 
-    * For loop rewrites Easy entries.
-    * For lopp writes Easy entries lower than entry.
-    * For loop rewrites Medium entries.
-    * For loop rewrites Medium entries lower than entry.
-    * For loop rewrites Hard entries.
-    * For loop rewrites Hard entries lower than entry.
-    * For loop writes String text for names array.
-    * 
-    * Try block writes high scores file.
-    * Try block reads in Strings as integers.
+    * Try block adds the entry to the store.
     *
-    * <b> Local Variables </b>
+    * <b> Local variables </b>
     * <p>
-    * <b> in </b> BufferedReader - reads the file.
+    * <b> store </b> HighScoreStore - the high scores.
     * <p>
-    * <b> out </b> PrintWriter - writes to the file.
-    * 
+    * <b> place </b> int - the place of the score, or 0 if it could not be added.
+    *
     * @param score int the score that the user acheived.
     * @param name String the username that the user entered.
     * @param level int the difficulty that the user completed.
+    * @return int the place of the score, counting from 1, or 0 if it could not be added.
     */
-  public static void sort (int score, String name, int level)
+  public static int sort (int score, String name, int level)
   {
-    fileCheck ();
+    int place = 0;
     try
     {
-      BufferedReader in = new BufferedReader (new FileReader ("files/High Scores.csi"));
-      if (in.readLine ().equals ("The Scarlet Gem"))
-      {
-        if (in.readLine ().equals ("easy"))
-        {
-          for (int x = 0 ; x < 10 ; x++)
-          {
-            easyNames [x] = in.readLine ();
-            if (easyNames [x].equals (""))
-            {
-              break;
-            }
-            easyScores [x] = Integer.parseInt (in.readLine ());
-          }
-        }
-        if (in.readLine ().equals ("medium"))
-        {
-          for (int x = 0 ; x < 10 ; x++)
-          {
-            mediumNames [x] = in.readLine ();
-            if (mediumNames [x].equals (""))
-            {
-              break;
-            }
-            mediumScores [x] = Integer.parseInt (in.readLine ());
-          }
-        }
-        if (in.readLine ().equals ("hard"))
-        {
-          for (int x = 0 ; x < 10 ; x++)
-          {
-            hardNames [x] = in.readLine ();
-            if (hardNames [x] == null)
-            {
-              break;
-            }
-            hardScores [x] = Integer.parseInt (in.readLine ());
-          }
-        }
-      }
-      
-      PrintWriter out = new PrintWriter (new FileWriter ("files/High Scores.csi"));
-      out.println ("The Scarlet Gem");
-      out.println ("easy");
-      int x;
-      for (x = 0; x < 10 && easyScores[x] > score; x++)
-      {
-        out.println (easyNames[x]);
-        out.println (easyScores[x]);
-      }
-      if (level == 0)
-      {
-        out.println (name);
-        out.println (score);
-      }
-      
-      for (x = x; x < 10 && easyScores[x]!=0; x++)
-      {
-        out.println (easyNames[x]);
-        out.println (easyScores[x]);
-      }
-      
-      out.println ();
-      out.println ("medium");
-      for (x = 0; x < 10 && mediumScores[x] > score; x++)
-      {
-        out.println (mediumNames[x]);
-        out.println (mediumScores[x]);
-      }
-      if (level == 1)
-      {
-        out.println (name);
-        out.println (score);
-      }
-      for (x = x; x < 10 && mediumScores[x]!=0; x++)
-      {
-        out.println (mediumNames[x]);
-        out.println (mediumScores[x]);
-      }
-      
-      out.println ();
-      out.println ("hard");
-      for (x = 0; x < 10 && hardScores[x] > score; x++)
-      {
-        out.println (hardNames[x]);
-        out.println (hardScores[x]);
-      }
-      if (level == 2)
-      {
-        out.println (name);
-        out.println (score);
-      }
-      for (x = x; x < 10 && hardScores[x]!=0; x++)
-      {
-        out.println (hardNames[x]);
-        out.println (hardScores[x]);
-      }
-      
-      out.close ();
+      HighScoreStore store = HighScoreStore.getShared ();
+      place = store.add (level, score, name);
+      JOptionPane.showMessageDialog(null,String.format ("You placed #%,d of %,d!", place, store.size (level)),
+                                    "High Scores", JOptionPane.INFORMATION_MESSAGE);
     }
     catch (IOException e)
     {
       JOptionPane.showMessageDialog(null,"Unable to write to file.");
     }
-    catch (NumberFormatException e)
-    {
-    }
+    fileCheck ();
+    return place;
   }
   
   /**
    * Displays the names and scores to the user.
    * 
-   * If statement checks if first line is valid.
-   * If statement checks if the next line is Easy.
-   * For loop and if statement read file until a blank line is reached.
-   * If statement checks if the next line is Medium.
-   * For loop and if statement read file until a blank line is reached.
-   * If statement checks if the next line is Hard.
-   * For loop and if statement read file until a blank line is reached.
-   * 
    * For loop writes the String text of the names and scores.
    * 
-   * Try block reads file.
-   * Try block converts String to int.
-   * 
    * <b> Local variables </b>
    * <p>
-   * <b>
+   * <b> name </b> String - the text of the names.
+   * <p>
+   * <b> score </b> String - the text of the scores.
    */
   private void output ()
   {    
-    try
-    {
-      BufferedReader in = new BufferedReader (new FileReader ("files/High Scores.csi"));
-      if (in.readLine ().equals ("The Scarlet Gem"))
-      {
-        if (in.readLine ().equals ("easy"))
-        {
-          for (int x = 0 ; x < 10 ; x++)
-          {
-            easyNames [x] = in.readLine ();
-            if (easyNames [x].equals(""))
-            {
-              break;
-            }
-            easyScores [x] = Integer.parseInt (in.readLine ());
-          }
-        }
-        if (in.readLine ().equals ("medium"))
-        {
-          for (int x = 0 ; x < 10 ; x++)
-          {
-            mediumNames [x] = in.readLine ();
-            if (mediumNames [x].equals(""))
-              break;
-            mediumScores [x] = Integer.parseInt (in.readLine ());
-          }
-        }
-        if (in.readLine ().equals ("hard"))
-        {
-          for (int x = 0 ; x < 10 ; x++)
-          {
-            hardNames [x] = in.readLine ();
-            if (hardNames [x] == null)
-              break;
-            hardScores [x] = Integer.parseInt (in.readLine ());
-          }
-        }
-      }
-    }
-    catch (IOException i)
-    {
-      JOptionPane.showMessageDialog(null,"File unreadable.");
-    }
-    catch (NumberFormatException n)
-    {
-      n.printStackTrace();
-    }
     String name = "<html><b>User Name</b><br>";
     String score = "<html><b>Scores</b><br>";
     for (int x = 0; x < 10; x++)
@@ -497,7 +300,7 @@ public class HighScoresViewer extends JFrame implements ActionListener
     add(background);
     try
     {
-      background.setIcon(new ImageIcon(ImageIO.read(new File("pics/background2.png"))));
+      background.setIcon(new ImageIcon(AssetLoader.readImage ("pics/background2.png")));
     }
     catch (IOException e)
     {
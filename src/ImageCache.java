@@ -0,0 +1,309 @@
+import java.awt.*;
+import java.awt.image.*;
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+/**
+ * Keeps the compressed bytes of the large background images (usually slices of the
+ * memory-mapped AssetPack) and decodes them only when they are needed. Decoded images are kept in least-recently-used order
+ * until the cache grows past its byte budget, at which point the oldest images are dropped
+ * and will be decoded again the next time they are asked for.
+ *
+ * The budget (in bytes) can be changed with the <code>scarletgem.imageCacheBytes</code>
+ * system property.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class ImageCache
+{
+  /**
+   * The default budget: room for about four decoded 700x600 backgrounds.
+   */
+  public static final long DEFAULT_BUDGET = 4L * 700 * 600 * 4;
+  /**
+   * The cache shared by the whole game.
+   */
+  private static ImageCache shared;
+  /**
+   * Holds the compressed bytes of each image, by path.
+   */
+  private final ConcurrentHashMap<String, ByteBuffer> compressed = new ConcurrentHashMap<String, ByteBuffer> ();
+  /**
+   * Holds the decoded images, oldest access first.
+   */
+  private final LinkedHashMap<String, Image> decoded = new LinkedHashMap<String, Image> (16, 0.75f, true);
+  /**
+   * Holds the images which are being decoded ahead of time, by path.
+   */
+  private final ConcurrentHashMap<String, Future<Image>> prefetching = new ConcurrentHashMap<String, Future<Image>> ();
+  /**
+   * The largest number of bytes the decoded images may take up.
+   */
+  private final long budget;
+  /**
+   * The number of bytes currently taken up by the decoded images.
+   */
+  private long used;
+  /**
+   * Counts the requests which were answered with an already decoded image.
+   */
+  private final AtomicLong hits = new AtomicLong ();
+  /**
+   * Counts the requests which had to decode the image.
+   */
+  private final AtomicLong misses = new AtomicLong ();
+  /**
+   * Counts the decoded images which were dropped to stay under the budget.
+   */
+  private final AtomicLong evictions = new AtomicLong ();
+  /**
+   * Counts the requests which were answered by an image decoded ahead of time.
+   */
+  private final AtomicLong prefetchHits = new AtomicLong ();
+  /**
+   * Returns the cache shared by the whole game, creating it if needed.
+   *
+   * @return ImageCache the shared cache.
+   */
+  public static synchronized ImageCache getShared ()
+  {
+    if (shared == null)
+      shared = new ImageCache (Long.getLong ("scarletgem.imageCacheBytes", DEFAULT_BUDGET));
+    return shared;
+  }
+  /**
+   * Returns the approximate number of bytes a decoded image takes up.
+   *
+   * @param i Image the decoded image.
+   * @return long the size of the image's pixels in bytes.
+   */
+  public static long sizeOf (Image i)
+  {
+    if (i instanceof BufferedImage)
+    {
+      BufferedImage b = (BufferedImage) i;
+      return (long) b.getWidth () * b.getHeight () * Math.max (1, b.getColorModel ().getPixelSize () / 8);
+    }
+    return (long) Math.max (0, i.getWidth (null)) * Math.max (0, i.getHeight (null)) * 4;
+  }
+  /**
+   * Stores the compressed bytes of an image so it can be decoded later.
+   *
+   * @param path String the path the image is known by.
+   * @param data ByteBuffer the compressed (PNG or JPEG) bytes of the image.
+   */
+  public void putCompressed (String path, ByteBuffer data)
+  {
+    compressed.put (path, data);
+  }
+  /**
+   * Returns the decoded image for <code>path</code>, decoding it if it is not in the cache.
+   * If the image is already being decoded ahead of time, waits for that instead of
+   * decoding it a second time.
+   *
+   * If statement checks whether the image is already decoded.
+   * If statement checks whether the image is being prefetched.
+   *
+   * Try block waits for the prefetched image.
+   * Try block decodes the image.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> pending </b> Future - the prefetch of the image, if there is one.
+   *
+   * @param path String the path of the image.
+   * @return Image the decoded image, or null if it could not be read.
+   */
+  public Image get (String path)
+  {
+    synchronized (this)
+    {
+      Image i = decoded.get (path);
+      if (i != null)
+      {
+        hits.incrementAndGet ();
+        return i;
+      }
+    }
+    Future<Image> pending = prefetching.get (path);
+    if (pending != null)
+    {
+      try
+      {
+        Image i = pending.get ();
+        prefetchHits.incrementAndGet ();
+        return i;
+      }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread ().interrupt ();
+        return null;
+      }
+      catch (ExecutionException e)
+      {
+        //fall through and try decoding it here
+      }
+    }
+    misses.incrementAndGet ();
+    try
+    {
+      return load (path);
+    }
+    catch (IOException e)
+    {
+      e.printStackTrace ();
+    }
+    return null;
+  }
+  /**
+   * Starts decoding the image at <code>path</code> on the AssetLoader's worker threads,
+   * and converting it into the screen's pixel format, so that it is ready to be
+   * drawn by the time <code>get</code> is called.
+   * Does nothing if the image is already decoded or being decoded.
+   *
+   * If statement checks whether the image is already decoded.
+   *
+   * @param path String the path of the image.
+   */
+  public void prefetch (final String path)
+  {
+    synchronized (this)
+    {
+      if (decoded.containsKey (path))
+        return;
+    }
+    FutureTask<Image> task = new FutureTask<Image> (new Callable<Image> ()
+    {
+      public Image call () throws IOException
+      {
+        try
+        {
+          Image i = load (path);
+          CompatibleImageCache.getShared ().get (i, null);
+          return i;
+        }
+        finally
+        {
+          prefetching.remove (path);
+        }
+      }
+    });
+    if (prefetching.putIfAbsent (path, task) == null)
+      AssetLoader.getShared ().submit (Executors.callable (task));
+  }
+  /**
+   * Reads (if needed) and decodes the image at <code>path</code> and adds it to the cache.
+   *
+   * If statement reads the file if its bytes were never stored.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> data </b> ByteBuffer - the compressed bytes of the image.
+   *
+   * @param path String the path of the image.
+   * @return Image the decoded image.
+   * @throws IOException if the image could not be read or decoded.
+   */
+  private Image load (String path) throws IOException
+  {
+    ByteBuffer data = compressed.get (path);
+    if (data == null)
+    {
+      data = AssetLoader.readAsset (path);
+      compressed.put (path, data);
+    }
+    Image i = AssetLoader.decode (path, data);
+    put (path, i);
+    return i;
+  }
+  /**
+   * Adds a decoded image to the cache, dropping the least recently used images
+   * until the cache is back under its budget. The newest image is never dropped.
+   *
+   * While loop drops the oldest images.
+   *
+   * @param path String the path of the image.
+   * @param i Image the decoded image.
+   */
+  private synchronized void put (String path, Image i)
+  {
+    Image old = decoded.put (path, i);
+    if (old != null)
+      used -= sizeOf (old);
+    used += sizeOf (i);
+    Iterator<Map.Entry<String, Image>> it = decoded.entrySet ().iterator ();
+    while (used > budget && decoded.size () > 1)
+    {
+      Map.Entry<String, Image> eldest = it.next ();
+      used -= sizeOf (eldest.getValue ());
+      it.remove ();
+      evictions.incrementAndGet ();
+    }
+  }
+  /**
+   * Returns the number of requests answered without decoding.
+   *
+   * @return long the number of cache hits.
+   */
+  public long getHits ()
+  {
+    return hits.get ();
+  }
+  /**
+   * Returns the number of requests which had to decode the image.
+   *
+   * @return long the number of cache misses.
+   */
+  public long getMisses ()
+  {
+    return misses.get ();
+  }
+  /**
+   * Returns the number of decoded images dropped to stay under the budget.
+   *
+   * @return long the number of evictions.
+   */
+  public long getEvictions ()
+  {
+    return evictions.get ();
+  }
+  /**
+   * Returns the number of requests answered by an image decoded ahead of time.
+   *
+   * @return long the number of prefetch hits.
+   */
+  public long getPrefetchHits ()
+  {
+    return prefetchHits.get ();
+  }
+  /**
+   * Returns the number of bytes currently taken up by decoded images.
+   *
+   * @return long the bytes in use.
+   */
+  public synchronized long getBytesUsed ()
+  {
+    return used;
+  }
+  /**
+   * Returns the largest number of bytes the decoded images may take up.
+   *
+   * @return long the byte budget.
+   */
+  public long getBudget ()
+  {
+    return budget;
+  }
+  /**
+   * Creates an empty cache.
+   *
+   * @param budget long the largest number of bytes the decoded images may take up.
+   */
+  public ImageCache (long budget)
+  {
+    this.budget = budget;
+  }
+}
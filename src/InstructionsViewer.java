@@ -111,7 +111,7 @@ public class InstructionsViewer extends JFrame
       backgrounds[x].setBounds(0,0,800,580);
       try
       {
-        backgrounds[x].setIcon(new ImageIcon (ImageIO.read( new File("pics/background4.png"))));
+        backgrounds[x].setIcon(new ImageIcon (AssetLoader.readImage ("pics/background4.png")));
       }
       catch (IOException e)
       {
@@ -123,7 +123,7 @@ public class InstructionsViewer extends JFrame
     screenshots[0].setBounds(570,355,210,200);
     try
     {
-      screenshots[0].setIcon(new ImageIcon (ImageIO.read(new File("screenshots/main menu.png"))));
+      screenshots[0].setIcon(new ImageIcon (AssetLoader.readImage ("screenshots/main menu.png")));
     }
     catch (IOException e)
     {
@@ -132,7 +132,7 @@ public class InstructionsViewer extends JFrame
     screenshots[1].setBounds(570,355,210,200);
     try
     {
-      screenshots[1].setIcon(new ImageIcon (ImageIO.read(new File("screenshots/country.png"))));
+      screenshots[1].setIcon(new ImageIcon (AssetLoader.readImage ("screenshots/country.png")));
     }
     catch (IOException e)
     {
@@ -141,7 +141,7 @@ public class InstructionsViewer extends JFrame
     screenshots[2].setBounds(570,355,210,200);
     try
     {
-      screenshots[2].setIcon(new ImageIcon (ImageIO.read(new File("screenshots/map.png"))));
+      screenshots[2].setIcon(new ImageIcon (AssetLoader.readImage ("screenshots/map.png")));
     }
     catch (IOException e)
     {
@@ -151,7 +151,7 @@ public class InstructionsViewer extends JFrame
     screenshots[3].setBounds(580,355,200,200);
     try
     {
-      screenshots[3].setIcon(new ImageIcon (ImageIO.read(new File("screenshots/save.png"))));
+      screenshots[3].setIcon(new ImageIcon (AssetLoader.readImage ("screenshots/save.png")));
     }
     catch (IOException e)
     {
@@ -160,7 +160,7 @@ public class InstructionsViewer extends JFrame
     screenshots[4].setBounds(580,300,200,260);
     try
     {
-      screenshots[4].setIcon(new ImageIcon (ImageIO.read(new File("screenshots/high scores.png"))));
+      screenshots[4].setIcon(new ImageIcon (AssetLoader.readImage ("screenshots/high scores.png")));
     }
     catch (IOException e)
     {
@@ -169,7 +169,7 @@ public class InstructionsViewer extends JFrame
     screenshots[5].setBounds(580,355,200,200);
     try
     {
-      screenshots[5].setIcon(new ImageIcon (ImageIO.read(new File("screenshots/about.png"))));
+      screenshots[5].setIcon(new ImageIcon (AssetLoader.readImage ("screenshots/about.png")));
     }
     catch (IOException e)
     {
@@ -322,7 +322,7 @@ public class InstructionsViewer extends JFrame
     logo.setBounds(0,300,300,100);
     try
     {
-      logo.setIcon(new ImageIcon (ImageIO.read(new File("pics/CakeSoft Inc.png"))));
+      logo.setIcon(new ImageIcon (AssetLoader.readImage ("pics/CakeSoft Inc.png")));
     }
     catch (IOException e)
     {
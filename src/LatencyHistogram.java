@@ -0,0 +1,189 @@
+import java.io.*;
+import java.util.concurrent.atomic.*;
+/**
+ * Counts how many times each length of time was measured, without locks, so it can be filled
+ * from any thread (including the event dispatch thread) at almost no cost. Times are kept in
+ * microseconds: each power of two is split into 8 buckets, so every bucket is within 12.5% of
+ * the times in it, and times under 16 microseconds are counted exactly.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class LatencyHistogram
+{
+  /**
+   * The number of buckets each power of two is split into (a power of two).
+   */
+  private static final int SUB_BUCKETS = 8;
+  /**
+   * The number of times counted exactly, one bucket each.
+   */
+  private static final int LINEAR = 2 * SUB_BUCKETS;
+  /**
+   * The largest power of two kept (2^36 microseconds is about 19 hours).
+   */
+  private static final int MAX_EXPONENT = 36;
+  /**
+   * The number of buckets.
+   */
+  private static final int BUCKETS = LINEAR + (MAX_EXPONENT - 4 + 1) * SUB_BUCKETS;
+  /**
+   * Holds the count in each bucket.
+   */
+  private final AtomicLongArray counts = new AtomicLongArray (BUCKETS);
+  /**
+   * Holds the number of times measured.
+   */
+  private final AtomicLong count = new AtomicLong ();
+  /**
+   * Holds the sum of the times measured, in microseconds.
+   */
+  private final AtomicLong total = new AtomicLong ();
+  /**
+   * Holds the longest time measured, in microseconds.
+   */
+  private final AtomicLong max = new AtomicLong ();
+  /**
+   * Counts a time.
+   *
+   * While loop raises the longest time, unless another thread raised it higher first.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> micros </b> long - the time in microseconds.
+   * <p>
+   * <b> longest </b> long - the longest time before this one.
+   *
+   * @param nanos long the time, in nanoseconds.
+   */
+  public void record (long nanos)
+  {
+    long micros = Math.max (0, nanos / 1000);
+    counts.incrementAndGet (bucket (micros));
+    count.incrementAndGet ();
+    total.addAndGet (micros);
+    long longest = max.get ();
+    while (micros > longest && !max.compareAndSet (longest, micros))
+      longest = max.get ();
+  }
+  /**
+   * Returns the bucket a time is counted in.
+   *
+   * If statement checks if the time is counted exactly.
+   * If statement puts times too long to keep in the last bucket.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> exponent </b> int - the power of two the time falls under.
+   *
+   * @param micros long the time in microseconds.
+   * @return int the bucket.
+   */
+  private static int bucket (long micros)
+  {
+    if (micros < LINEAR)
+      return (int) micros;
+    int exponent = 63 - Long.numberOfLeadingZeros (micros);
+    if (exponent > MAX_EXPONENT)
+      return BUCKETS - 1;
+    return LINEAR + (exponent - 4) * SUB_BUCKETS + (int) ((micros >> (exponent - 3)) & (SUB_BUCKETS - 1));
+  }
+  /**
+   * Returns the shortest time counted in a bucket.
+   *
+   * If statement checks if the bucket counts a single time.
+   *
+   * @param bucket int the bucket.
+   * @return long the shortest time, in microseconds.
+   */
+  private static long lowest (int bucket)
+  {
+    if (bucket < LINEAR)
+      return bucket;
+    int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+    return (long) (SUB_BUCKETS + (bucket - LINEAR) % SUB_BUCKETS) << (exponent - 3);
+  }
+  /**
+   * Returns the number of times measured.
+   *
+   * @return long the count.
+   */
+  public long getCount ()
+  {
+    return count.get ();
+  }
+  /**
+   * Returns the average time measured.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> n </b> long - the number of times measured.
+   *
+   * @return double the average in milliseconds.
+   */
+  public double getMean ()
+  {
+    long n = count.get ();
+    return n == 0 ? 0 : total.get () / 1000.0 / n;
+  }
+  /**
+   * Returns the longest time measured.
+   *
+   * @return double the longest time in milliseconds.
+   */
+  public double getMax ()
+  {
+    return max.get () / 1000.0;
+  }
+  /**
+   * Returns the time which the given fraction of measurements were no longer than (to within
+   * the width of a bucket).
+   *
+   * For loop adds up the buckets until the fraction is reached.
+   * If statement checks if the fraction has been reached.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> target </b> long - the number of measurements which must be covered.
+   * <p>
+   * <b> seen </b> long - the number of measurements covered so far.
+   *
+   * @param fraction double the fraction, from 0 to 1 (0.99 for the 99th percentile).
+   * @return double the time in milliseconds.
+   */
+  public double getPercentile (double fraction)
+  {
+    long target = (long) Math.ceil (fraction * count.get ());
+    long seen = 0;
+    for (int x = 0; x < BUCKETS; x++)
+    {
+      seen += counts.get (x);
+      if (seen >= target && seen > 0)
+        return Math.min (max.get (), lowest (x + 1) - 1) / 1000.0;
+    }
+    return getMax ();
+  }
+  /**
+   * Writes the buckets which have counts as comma-separated values: the name, the shortest and
+   * longest time in the bucket (in microseconds), and the count.
+   *
+   * For loop writes each bucket.
+   * If statement skips empty buckets.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> n </b> long - the count in the bucket.
+   *
+   * @param out PrintWriter where to write.
+   * @param name String the name written at the start of each line.
+   */
+  public void writeCsv (PrintWriter out, String name)
+  {
+    for (int x = 0; x < BUCKETS; x++)
+    {
+      long n = counts.get (x);
+      if (n > 0)
+        out.println (name + "," + lowest (x) + "," + (lowest (x + 1) - 1) + "," + n);
+    }
+  }
+}
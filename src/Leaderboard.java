@@ -0,0 +1,218 @@
+import java.util.*;
+/**
+ * Holds every score of one level in order, so that the place of a score, and any page of the
+ * table, can be found without going through the scores above it. A Fenwick tree counts the
+ * scores at each value, so the number of scores above any value is found in O(log n) steps;
+ * the scores themselves are kept in a TreeMap by value, and listed newest first among equal values.
+ *
+ * Adding a score, finding the place of a score, and finding where a page starts each take
+ * O(log n) steps, and a page of K scores takes O(log n + K). Scores outside
+ * <code>MIN_SCORE</code> to <code>MAX_SCORE</code> are ranked as if they were at the nearest
+ * end of that range.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class Leaderboard
+{
+  /**
+   * The lowest score which is ranked exactly.
+   */
+  public static final int MIN_SCORE = -65536;
+  /**
+   * The highest score which is ranked exactly.
+   */
+  public static final int MAX_SCORE = 65535;
+  /**
+   * The number of values which are ranked exactly.
+   */
+  private static final int RANGE = MAX_SCORE - MIN_SCORE + 1;
+  /**
+   * The largest power of two no larger than <code>RANGE</code>, where searches of the tree start.
+   */
+  private static final int TOP_STEP = Integer.highestOneBit (RANGE);
+  /**
+   * Holds the Fenwick tree: entry i (counting from 1) holds the number of scores at the
+   * <code>i &amp; -i</code> values ending at value i.
+   */
+  private final int[] tree = new int [RANGE + 1];
+  /**
+   * Holds the scores at each value, oldest first.
+   */
+  private final TreeMap<Integer, ArrayList<HighScoreStore.Score>> byScore =
+    new TreeMap<Integer, ArrayList<HighScoreStore.Score>> ();
+  /**
+   * Holds the number of scores.
+   */
+  private int size;
+  /**
+   * Adds a score, and returns its place. A score ties with equal scores made before it, but
+   * is listed above them.
+   *
+   * If statement creates the list for the score's value if there is none.
+   * For loop adds one to the count of every entry of the tree which covers the value.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> value </b> int - the score, moved into the ranked range.
+   * <p>
+   * <b> scores </b> ArrayList - the scores at the same value.
+   *
+   * @param s HighScoreStore.Score the score to add.
+   * @return int the score's place, counting from 1.
+   */
+  public int add (HighScoreStore.Score s)
+  {
+    int value = clamp (s.getScore ());
+    ArrayList<HighScoreStore.Score> scores = byScore.get (value);
+    if (scores == null)
+    {
+      scores = new ArrayList<HighScoreStore.Score> ();
+      byScore.put (value, scores);
+    }
+    scores.add (s);
+    for (int i = value - MIN_SCORE + 1; i <= RANGE; i += i & -i)
+      tree [i]++;
+    size++;
+    return rank (value);
+  }
+  /**
+   * Removes every score.
+   */
+  public void clear ()
+  {
+    Arrays.fill (tree, 0);
+    byScore.clear ();
+    size = 0;
+  }
+  /**
+   * Returns the number of scores.
+   *
+   * @return int the number of scores.
+   */
+  public int size ()
+  {
+    return size;
+  }
+  /**
+   * Returns the place a score would get: one more than the number of scores above it.
+   *
+   * @param score int the score.
+   * @return int the place, counting from 1.
+   */
+  public int rank (int score)
+  {
+    return above (clamp (score)) + 1;
+  }
+  /**
+   * Returns the number of scores above a value.
+   *
+   * For loop adds up the entries of the tree which together cover every value up to this one.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> atMost </b> int - the number of scores at or below the value.
+   *
+   * @param value int the value, in the ranked range.
+   * @return int the number of scores above it.
+   */
+  private int above (int value)
+  {
+    int atMost = 0;
+    for (int i = value - MIN_SCORE + 1; i > 0; i -= i & -i)
+      atMost += tree [i];
+    return size - atMost;
+  }
+  /**
+   * Returns the value of the score in a given place, by walking down the tree.
+   *
+   * For loop halves the step each time, moving past every part of the tree which holds fewer
+   * scores than are still to be passed.
+   * If statement checks if the part can be passed.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> k </b> int - the number of scores, counting from the lowest, still to be passed.
+   * <p>
+   * <b> position </b> int - the last entry of the tree passed.
+   *
+   * @param place int the place, from 1 to <code>size</code>.
+   * @return int the value of the score in that place.
+   */
+  private int valueAt (int place)
+  {
+    int k = size - place + 1;
+    int position = 0;
+    for (int step = TOP_STEP; step > 0; step >>= 1)
+    {
+      if (position + step <= RANGE && tree [position + step] < k)
+      {
+        position += step;
+        k -= tree [position];
+      }
+    }
+    return position + MIN_SCORE;
+  }
+  /**
+   * Returns a page of the table: up to <code>count</code> scores, starting after the first
+   * <code>offset</code>, the best first.
+   *
+   * If statement checks that the page starts inside the table.
+   * For loop goes through the values from the page's first one down.
+   * For loop adds the scores at each value, the newest first.
+   * If statement stops when the page is full.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> page </b> ArrayList - the scores on the page.
+   * <p>
+   * <b> first </b> int - the value of the first score on the page.
+   * <p>
+   * <b> skip </b> int - the number of scores at the first value which belong to earlier pages.
+   *
+   * @param offset int the number of scores before the page.
+   * @param count int the largest number of scores on the page.
+   * @return List the scores on the page.
+   */
+  public List<HighScoreStore.Score> page (int offset, int count)
+  {
+    ArrayList<HighScoreStore.Score> page = new ArrayList<HighScoreStore.Score> ();
+    if (offset < 0 || offset >= size || count <= 0)
+      return page;
+    int first = valueAt (offset + 1);
+    int skip = offset - above (first);
+    for (ArrayList<HighScoreStore.Score> scores : byScore.headMap (first, true).descendingMap ().values ())
+    {
+      for (int i = scores.size () - 1 - skip; i >= 0 && page.size () < count; i--)
+        page.add (scores.get (i));
+      skip = 0;
+      if (page.size () == count)
+        break;
+    }
+    return page;
+  }
+  /**
+   * Returns every score, in the order they were added for each value.
+   *
+   * For loop adds the scores at each value.
+   *
+   * @return List every score.
+   */
+  public List<HighScoreStore.Score> getScores ()
+  {
+    ArrayList<HighScoreStore.Score> all = new ArrayList<HighScoreStore.Score> (size);
+    for (ArrayList<HighScoreStore.Score> scores : byScore.values ())
+      all.addAll (scores);
+    return all;
+  }
+  /**
+   * Moves a score into the range which is ranked exactly.
+   *
+   * @param score int the score.
+   * @return int the nearest value in the range.
+   */
+  private static int clamp (int score)
+  {
+    return Math.max (MIN_SCORE, Math.min (MAX_SCORE, score));
+  }
+}
@@ -75,7 +75,7 @@ public class MainMenuPanel extends JPanel
     setLayout(null);
     try
     {
-      background.setIcon(new ImageIcon(ImageIO.read(new File ("pics/background.png"))));
+      background.setIcon(new ImageIcon(AssetLoader.readImage ("pics/background.png")));
     }
     catch (IOException e)
     {
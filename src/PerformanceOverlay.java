@@ -0,0 +1,290 @@
+import javax.swing.*;
+import javax.swing.event.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.io.*;
+/**
+ * Measures how smoothly the game panel draws and how quickly it answers a click, and shows the
+ * numbers in the corner of the panel: frames painted per second, the median and 99th percentile
+ * time taken to paint, and the median and 99th percentile click-to-update latency. The latency
+ * runs from the moment an answer button is pressed, through checkAnswer, to the end of the
+ * first paint after the next question or the map has been put on the panel (so it includes
+ * the transition between screens).
+ *
+ * The times are kept in lock-free LatencyHistograms, so measuring costs almost nothing.
+ * The overlay is turned on with <code>-Dscarletgem.metrics=true</code>, and the histograms are
+ * written as comma-separated values to <code>scarletgem.metricsCsv</code> when the program ends,
+ * if it is set.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class PerformanceOverlay implements ActionListener
+{
+  /**
+   * The size of the box which shows the numbers.
+   */
+  private static final int BOX_WIDTH = 420, BOX_HEIGHT = 20;
+  /**
+   * The overlay shared by the whole game, or null if it is turned off.
+   */
+  private static PerformanceOverlay shared;
+  /**
+   * Whether the game has already checked if the overlay is turned on.
+   */
+  private static boolean checked;
+  /**
+   * Holds the time taken by each paint of the panel.
+   */
+  private final LatencyHistogram paintTimes = new LatencyHistogram ();
+  /**
+   * Holds the time from each answer click to the new screen being painted.
+   */
+  private final LatencyHistogram clickLatency = new LatencyHistogram ();
+  /**
+   * Counts the frames painted each second, and redraws the numbers.
+   */
+  private final javax.swing.Timer second = new javax.swing.Timer (1000, this);
+  /**
+   * Holds the panel the numbers are shown on, or null.
+   */
+  private JComponent panel;
+  /**
+   * Holds the number of frames painted, and the number when the last second ended.
+   */
+  private long frames, lastFrames;
+  /**
+   * Holds the number of frames painted in the last second.
+   */
+  private int fps;
+  /**
+   * Holds the time the last answer button was pressed down.
+   */
+  private long pressed;
+  /**
+   * Holds the time of the click waiting for the screen to change, or 0 if there is none.
+   */
+  private long click;
+  /**
+   * Whether the panel has changed to a new question or the map since it was last painted.
+   */
+  private boolean updated;
+  /**
+   * Notes the time an answer button is pressed down.
+   */
+  private final ChangeListener press = new ChangeListener ()
+  {
+    public void stateChanged (ChangeEvent e)
+    {
+      ButtonModel model = (ButtonModel) e.getSource ();
+      if (model.isPressed () && pressed == 0)
+        pressed = System.nanoTime ();
+      else if (!model.isPressed () && !model.isArmed ())
+        pressed = 0;
+    }
+  };
+  /**
+   * Starts timing a click when an answer button fires.
+   */
+  private final ActionListener fired = new ActionListener ()
+  {
+    public void actionPerformed (ActionEvent e)
+    {
+      click = pressed != 0 ? pressed : System.nanoTime ();
+      pressed = 0;
+    }
+  };
+  /**
+   * Returns the overlay shared by the whole game, or null if it is turned off.
+   *
+   * @return PerformanceOverlay the shared overlay, or null.
+   */
+  public static synchronized PerformanceOverlay getShared ()
+  {
+    if (!checked)
+    {
+      checked = true;
+      if (Boolean.getBoolean ("scarletgem.metrics"))
+      {
+        shared = new PerformanceOverlay ();
+        String csv = System.getProperty ("scarletgem.metricsCsv");
+        if (csv != null)
+          shared.exportOnExit (new File (csv));
+      }
+    }
+    return shared;
+  }
+  /**
+   * Shows the numbers on <code>panel</code> from now on.
+   *
+   * @param panel JComponent the panel to show the numbers on.
+   */
+  public void setPanel (JComponent panel)
+  {
+    this.panel = panel;
+    second.start ();
+  }
+  /**
+   * Times the clicks of an answer button.
+   *
+   * @param button AbstractButton the button.
+   */
+  public void watch (AbstractButton button)
+  {
+    button.getModel ().addChangeListener (press);
+    button.addActionListener (fired);
+  }
+  /**
+   * Notes that the panel now shows a new question or the map, so the next paint ends the
+   * click being timed.
+   */
+  public void updated ()
+  {
+    updated = true;
+  }
+  /**
+   * Records a paint of the panel, and ends the click being timed if the paint showed its
+   * result. Called at the end of the panel's paint method.
+   *
+   * If statement checks if this paint showed the result of a click.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> now </b> long - the time the paint ended.
+   *
+   * @param nanos long the time the paint took.
+   */
+  public void painted (long nanos)
+  {
+    long now = System.nanoTime ();
+    frames++;
+    paintTimes.record (nanos);
+    if (updated && click != 0)
+    {
+      clickLatency.record (now - click);
+      click = 0;
+    }
+    updated = false;
+  }
+  /**
+   * Shows the numbers in the bottom right corner of the panel.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> x </b> int - the left of the box.
+   * <p>
+   * <b> y </b> int - the top of the box.
+   *
+   * @param g Graphics the graphics context the panel was painted with.
+   * @param panel JComponent the panel being painted.
+   */
+  public void paintOverlay (Graphics g, JComponent panel)
+  {
+    int x = panel.getWidth () - BOX_WIDTH, y = panel.getHeight () - BOX_HEIGHT;
+    g.setColor (new Color (0, 0, 0, 160));
+    g.fillRect (x, y, BOX_WIDTH, BOX_HEIGHT);
+    g.setColor (Color.WHITE);
+    g.drawString (fps + " fps   paint p50 " + format (paintTimes.getPercentile (0.5)) + " p99 " +
+                  format (paintTimes.getPercentile (0.99)) + " ms   click p50 " +
+                  format (clickLatency.getPercentile (0.5)) + " p99 " +
+                  format (clickLatency.getPercentile (0.99)) + " ms", x + 5, y + BOX_HEIGHT - 6);
+  }
+  /**
+   * Returns a time rounded to a tenth of a millisecond.
+   *
+   * @param millis double the time in milliseconds.
+   * @return String the rounded time.
+   */
+  private static String format (double millis)
+  {
+    return String.valueOf (Math.round (millis * 10) / 10.0);
+  }
+  /**
+   * Works out the frames painted in the last second, and redraws the numbers.
+   *
+   * If statement checks that there is a panel to draw on.
+   *
+   * @param e ActionEvent the timer's event.
+   */
+  public void actionPerformed (ActionEvent e)
+  {
+    fps = (int) (frames - lastFrames);
+    lastFrames = frames;
+    if (panel != null)
+      panel.repaint (panel.getWidth () - BOX_WIDTH, panel.getHeight () - BOX_HEIGHT, BOX_WIDTH, BOX_HEIGHT);
+  }
+  /**
+   * Returns the histogram of paint times.
+   *
+   * @return LatencyHistogram the paint times.
+   */
+  public LatencyHistogram getPaintTimes ()
+  {
+    return paintTimes;
+  }
+  /**
+   * Returns the histogram of click-to-update latencies.
+   *
+   * @return LatencyHistogram the click latencies.
+   */
+  public LatencyHistogram getClickLatency ()
+  {
+    return clickLatency;
+  }
+  /**
+   * Returns the number of frames painted in the last whole second.
+   *
+   * @return int the frames per second.
+   */
+  public int getFps ()
+  {
+    return fps;
+  }
+  /**
+   * Writes the histograms as comma-separated values, with the columns histogram, shortest time
+   * (microseconds), longest time (microseconds) and count.
+   *
+   * Try block writes the file.
+   *
+   * @param file File where to write.
+   * @throws IOException if the file could not be written.
+   */
+  public void export (File file) throws IOException
+  {
+    PrintWriter out = new PrintWriter (new FileWriter (file));
+    try
+    {
+      out.println ("histogram,from_us,to_us,count");
+      paintTimes.writeCsv (out, "paint");
+      clickLatency.writeCsv (out, "click");
+    }
+    finally
+    {
+      out.close ();
+    }
+  }
+  /**
+   * Writes the histograms to <code>file</code> when the program ends.
+   *
+   * Try block writes the file.
+   *
+   * @param file File where to write.
+   */
+  private void exportOnExit (final File file)
+  {
+    Runtime.getRuntime ().addShutdownHook (new Thread ("metrics-export")
+    {
+      public void run ()
+      {
+        try
+        {
+          export (file);
+        }
+        catch (IOException e)
+        {
+          System.err.println ("The performance histograms could not be written to " + file);
+        }
+      }
+    });
+  }
+}
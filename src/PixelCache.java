@@ -0,0 +1,275 @@
+import java.awt.image.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.*;
+import javax.imageio.*;
+/**
+ * An optional cache on the disk which holds the decoded pixels of each image, so that
+ * later launches can skip PNG and JPEG decompression. Each entry is named after a hash of
+ * the image's compressed bytes, so an entry for an old version of an image is simply never
+ * used again. Entries are memory-mapped and copied straight into the image's DataBuffer.
+ *
+ * The cache is turned on with <code>-Dscarletgem.pixelCache=true</code>, and is kept in
+ * files/pixelcache unless <code>scarletgem.pixelCacheDir</code> says otherwise. The time saved
+ * by each image is kept for <code>getTimeSaved</code>, and is also printed as it is loaded if
+ * <code>-Dscarletgem.pixelCache.verbose=true</code> is given.
+ *
+ * <p>
+ * <b> Entry format </b> (big-endian)
+ * <ul>
+ * <li> int - the magic number <code>MAGIC</code>
+ * <li> int - the image width
+ * <li> int - the image height
+ * <li> long - how long the original decode took, in nanoseconds
+ * <li> width * height ints - the ARGB pixels, row by row
+ * </ul>
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class PixelCache
+{
+  /**
+   * Identifies a file as a pixel cache entry ("SGPX").
+   */
+  public static final int MAGIC = 0x53475058;
+  /**
+   * The number of bytes before the pixels in an entry.
+   */
+  private static final int HEADER = 20;
+  /**
+   * The cache shared by the whole game, or null if it is turned off.
+   */
+  private static PixelCache shared;
+  /**
+   * Whether the game has already checked if the cache is turned on.
+   */
+  private static boolean checked;
+  /**
+   * Whether the time saved by each image is printed as it is loaded.
+   */
+  private static final boolean VERBOSE = Boolean.getBoolean ("scarletgem.pixelCache.verbose");
+  /**
+   * The folder which holds the cache entries.
+   */
+  private final File dir;
+  /**
+   * Holds the time (in nanoseconds) saved for each image loaded from the cache.
+   */
+  private final ConcurrentHashMap<String, Long> saved = new ConcurrentHashMap<String, Long> ();
+  /**
+   * Returns the cache shared by the whole game, or null if it is turned off.
+   *
+   * @return PixelCache the shared cache, or null.
+   */
+  public static synchronized PixelCache getShared ()
+  {
+    if (!checked)
+    {
+      checked = true;
+      if (Boolean.getBoolean ("scarletgem.pixelCache"))
+        shared = new PixelCache (new File (System.getProperty ("scarletgem.pixelCacheDir", "files/pixelcache")));
+    }
+    return shared;
+  }
+  /**
+   * Returns the decoded image for the given compressed bytes, from the cache if it has an
+   * up-to-date entry, or by decoding it with ImageIO (and adding an entry) if it does not.
+   *
+   * If statement checks whether the cache has an entry for the image.
+   * If statement prints the time saved if that is turned on.
+   * If statement checks whether the bytes could be decoded.
+   *
+   * Try block writes the new entry.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> file </b> File - the cache entry for the image.
+   * <p>
+   * <b> start </b> long - the time the load started.
+   *
+   * @param path String the path the image is known by.
+   * @param data ByteBuffer the compressed bytes of the image.
+   * @return BufferedImage the decoded image, or null if the bytes are not an image.
+   * @throws IOException if the compressed bytes could not be read.
+   */
+  public BufferedImage decode (String path, ByteBuffer data) throws IOException
+  {
+    File file = new File (dir, hash (data) + ".px");
+    long start = System.nanoTime ();
+    long[] decodeTime = new long [1];
+    BufferedImage cached = read (file, decodeTime);
+    if (cached != null)
+    {
+      long loadTime = System.nanoTime () - start;
+      long savedTime = decodeTime [0] - loadTime;
+      saved.put (path, savedTime);
+      if (VERBOSE)
+        System.out.println ("Pixel cache: " + path + " loaded in " + loadTime / 1000000 +
+                            " ms, saved " + savedTime / 1000000 + " ms");
+      return cached;
+    }
+    start = System.nanoTime ();
+    BufferedImage i = AssetPack.read (data);
+    if (i == null)
+      return null;
+    try
+    {
+      write (file, i, System.nanoTime () - start);
+    }
+    catch (IOException e)
+    {
+      e.printStackTrace ();
+    }
+    return i;
+  }
+  /**
+   * Returns the time (in nanoseconds) saved by each image loaded from the cache.
+   *
+   * @return Map the time saved, by image path.
+   */
+  public Map<String, Long> getTimeSaved ()
+  {
+    return Collections.unmodifiableMap (saved);
+  }
+  /**
+   * Reads an entry, or returns null if it is missing or damaged.
+   *
+   * If statement checks that the file is the right size.
+   *
+   * Try block maps the entry.
+   *
+   * @param file File the cache entry.
+   * @param decodeTime long[] receives how long the original decode took.
+   * @return BufferedImage the cached image, or null.
+   */
+  private static BufferedImage read (File file, long[] decodeTime)
+  {
+    if (!file.isFile () || file.length () < HEADER)
+      return null;
+    try
+    {
+      RandomAccessFile raf = new RandomAccessFile (file, "r");
+      try
+      {
+        FileChannel channel = raf.getChannel ();
+        MappedByteBuffer map = channel.map (FileChannel.MapMode.READ_ONLY, 0, channel.size ());
+        if (map.getInt (0) != MAGIC)
+          return null;
+        int width = map.getInt (4);
+        int height = map.getInt (8);
+        decodeTime [0] = map.getLong (12);
+        if (width <= 0 || height <= 0 || channel.size () != HEADER + 4L * width * height)
+          return null;
+        BufferedImage i = new BufferedImage (width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) i.getRaster ().getDataBuffer ()).getData ();
+        map.position (HEADER);
+        map.asIntBuffer ().get (pixels);
+        return i;
+      }
+      finally
+      {
+        raf.close ();
+      }
+    }
+    catch (IOException e)
+    {
+      return null;
+    }
+  }
+  /**
+   * Writes a new entry. The entry is written to a temporary file of its own first and then
+   * moved into place, so a launch which is closed halfway through never leaves a damaged entry
+   * behind, and two threads decoding the same image never write to the same file.
+   * (It is not memory-mapped, because a mapped file cannot be renamed on Windows.)
+   *
+   * Try block writes the entry and moves it into place, deleting the temporary file if anything fails.
+   * While loop writes until the whole entry is on the disk.
+   * Try block moves the entry atomically if the file system can.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> temp </b> File - the file the entry is written to before it is moved into place.
+   *
+   * @param file File the cache entry.
+   * @param i BufferedImage the decoded image.
+   * @param decodeTime long how long the image took to decode, in nanoseconds.
+   * @throws IOException if the entry could not be written.
+   */
+  private void write (File file, BufferedImage i, long decodeTime) throws IOException
+  {
+    dir.mkdirs ();
+    int width = i.getWidth ();
+    int height = i.getHeight ();
+    int[] pixels = i.getRGB (0, 0, width, height, null, 0, width);
+    File temp = File.createTempFile (file.getName (), ".tmp", dir);
+    try
+    {
+      RandomAccessFile raf = new RandomAccessFile (temp, "rw");
+      try
+      {
+        ByteBuffer entry = ByteBuffer.allocate (HEADER + 4 * pixels.length);
+        entry.putInt (MAGIC);
+        entry.putInt (width);
+        entry.putInt (height);
+        entry.putLong (decodeTime);
+        entry.asIntBuffer ().put (pixels);
+        entry.clear ();
+        FileChannel channel = raf.getChannel ();
+        while (entry.hasRemaining ())
+          channel.write (entry);
+      }
+      finally
+      {
+        raf.close ();
+      }
+      try
+      {
+        Files.move (temp.toPath (), file.toPath (), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      }
+      catch (AtomicMoveNotSupportedException e)
+      {
+        Files.move (temp.toPath (), file.toPath (), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    finally
+    {
+      temp.delete ();
+    }
+  }
+  /**
+   * Returns the SHA-1 hash of a buffer's remaining bytes, as hexadecimal.
+   *
+   * @param data ByteBuffer the bytes to hash.
+   * @return String the hash.
+   */
+  private static String hash (ByteBuffer data)
+  {
+    try
+    {
+      MessageDigest digest = MessageDigest.getInstance ("SHA-1");
+      digest.update (data.duplicate ());
+      StringBuilder hex = new StringBuilder ();
+      for (byte b : digest.digest ())
+        hex.append (String.format ("%02x", b));
+      return hex.toString ();
+    }
+    catch (NoSuchAlgorithmException e)
+    {
+      throw new IllegalStateException (e);
+    }
+  }
+  /**
+   * Creates a pixel cache kept in the given folder.
+   *
+   * @param dir File the folder which holds the cache entries.
+   */
+  public PixelCache (File dir)
+  {
+    this.dir = dir;
+  }
+}
@@ -0,0 +1,143 @@
+import java.util.*;
+/**
+ * Describes how well a simulated player plays, for GameSimulator. For each question the
+ * player either knows the answer (with the chance given for the game's difficulty) or
+ * guesses among the choices not yet ruled out; the map works the same way with its own
+ * chance of recognizing the clue. Every choice takes a random time, on average
+ * <code>secondsPerChoice</code> seconds.
+ *
+ * A model can be written as <code>name:easy,medium,hard:map:seconds</code>, for example
+ * <code>average:0.75,0.65,0.55:0.7:4</code>.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class PlayerModel
+{
+  /**
+   * A player who knows few answers and takes a long time.
+   */
+  public static final PlayerModel NOVICE = new PlayerModel ("novice", new double[] {0.5, 0.4, 0.3}, 0.45, 6);
+  /**
+   * A player who knows about two answers in three.
+   */
+  public static final PlayerModel AVERAGE = new PlayerModel ("average", new double[] {0.75, 0.65, 0.55}, 0.7, 4);
+  /**
+   * A player who knows almost every answer and plays quickly.
+   */
+  public static final PlayerModel EXPERT = new PlayerModel ("expert", new double[] {0.95, 0.9, 0.85}, 0.95, 2.5);
+  /**
+   * The name of the model, used in reports.
+   */
+  private final String name;
+  /**
+   * Holds the chance of knowing an answer in easy, medium and hard games.
+   */
+  private final double[] accuracy;
+  /**
+   * Holds the chance of recognizing the correct destination from the clue.
+   */
+  private final double mapAccuracy;
+  /**
+   * Holds the average time taken for each choice, in seconds.
+   */
+  private final double secondsPerChoice;
+  /**
+   * Returns true if the player knows the answer to a question, which is decided at random.
+   *
+   * @param difficulty int the difficulty of the game.
+   * @param random SplittableRandom the generator to use.
+   * @return boolean true if the player knows the answer.
+   */
+  public boolean knows (int difficulty, SplittableRandom random)
+  {
+    return random.nextDouble () < accuracy [difficulty];
+  }
+  /**
+   * Returns true if the player recognizes the correct destination, which is decided at random.
+   *
+   * @param random SplittableRandom the generator to use.
+   * @return boolean true if the player recognizes the destination.
+   */
+  public boolean recognizes (SplittableRandom random)
+  {
+    return random.nextDouble () < mapAccuracy;
+  }
+  /**
+   * Returns how long the player takes to make a choice, from an exponential distribution
+   * with the model's average.
+   *
+   * @param random SplittableRandom the generator to use.
+   * @return double the time taken, in seconds.
+   */
+  public double thinkTime (SplittableRandom random)
+  {
+    return -secondsPerChoice * Math.log (1 - random.nextDouble ());
+  }
+  /**
+   * Returns the name of the model.
+   *
+   * @return String the name.
+   */
+  public String getName ()
+  {
+    return name;
+  }
+  /**
+   * Returns the model written as <code>name:easy,medium,hard:map:seconds</code>, or one
+   * of the built-in models (novice, average or expert) given just by its name.
+   *
+   * For loop checks each built-in model.
+   * If statement checks that the text has every part.
+   * For loop reads the chance for each difficulty.
+   *
+   * @param text String the written model.
+   * @return PlayerModel the model.
+   * @throws IllegalArgumentException if the text is not a valid model.
+   */
+  public static PlayerModel parse (String text)
+  {
+    for (PlayerModel m : new PlayerModel[] {NOVICE, AVERAGE, EXPERT})
+      if (m.name.equals (text))
+        return m;
+    String[] parts = text.split (":");
+    String[] chances = parts.length == 4 ? parts [1].split (",") : new String [0];
+    if (chances.length != 3)
+      throw new IllegalArgumentException ("Not a player model: " + text);
+    try
+    {
+      double[] accuracy = new double [3];
+      for (int d = 0; d < 3; d++)
+        accuracy [d] = Double.parseDouble (chances [d]);
+      return new PlayerModel (parts [0], accuracy, Double.parseDouble (parts [2]), Double.parseDouble (parts [3]));
+    }
+    catch (NumberFormatException e)
+    {
+      throw new IllegalArgumentException ("Not a player model: " + text, e);
+    }
+  }
+  /**
+   * Returns the model written as <code>name:easy,medium,hard:map:seconds</code>.
+   *
+   * @return String the written model.
+   */
+  public String toString ()
+  {
+    return name + ":" + accuracy [0] + "," + accuracy [1] + "," + accuracy [2] + ":" + mapAccuracy + ":" + secondsPerChoice;
+  }
+  /**
+   * Creates a player model.
+   *
+   * @param name String the name of the model.
+   * @param accuracy double[] the chance of knowing an answer in easy, medium and hard games.
+   * @param mapAccuracy double the chance of recognizing the correct destination.
+   * @param secondsPerChoice double the average time taken for each choice, in seconds.
+   */
+  public PlayerModel (String name, double[] accuracy, double mapAccuracy, double secondsPerChoice)
+  {
+    this.name = name;
+    this.accuracy = accuracy.clone ();
+    this.mapAccuracy = mapAccuracy;
+    this.secondsPerChoice = secondsPerChoice;
+  }
+}
@@ -1,20 +1,34 @@
 /**
- * Holds the question String and answer char for each question in the game.
+ * Holds the question, its four choices and the answer for each question in the game.
  * Answers and Questions can be accessed at any time by any class.
  * 
+ * The text is kept as numbers into a StringTable (the shared one, or the string section
+ * of the compiled question bank), so repeated text is only stored once, and the HTML shown on the game screen is only built the first time the
+ * question is displayed.
+ * 
  * @author Zachary Teper (1 hour) and Angela Zhu (0 hour)
  */
 public class Question {
   /**
-   * Holds the answer to the question. Should only be equal to 'A', 'B',
-   * 'C', 'D'
+   * Holds the answer to the question: 0, 1, 2 or 3 for 'A', 'B', 'C' or 'D'.
+   */
+  private final byte ANSWER;
+  /**
+   * Holds the StringTable number of the question itself.
+   */
+  private final int QUESTION;
+  /**
+   * Holds the StringTable numbers of choices A, B, C and D.
+   */
+  private final int A, B, C, D;
+  /**
+   * Holds the table the text numbers refer to.
    */
-  private final char ANSWER;
+  private final StringTable strings;
   /**
-   * Holds the question text. Should contain the 
-   * values for the answers A, B, C and D.
+   * Holds the HTML form of the question once it has been displayed.
    */
-  private final String QUESTION;
+  private String html;
   /**
    * Returns the answer for each question. Should be A, B, C and D.
    * 
@@ -22,29 +36,104 @@ public class Question {
    */
   public char getAnswer()
   {
-    return ANSWER;
+    return (char)('A'+ANSWER);
   }
   /**
-   * Returns the text associated with the question.
+   * Returns the text associated with the question, as HTML.
+   * The HTML is built the first time it is needed and kept afterwards.
+   * 
+   * If statement builds the HTML the first time.
    * 
    * @return question String the question itself, including the four options.
    */
   public String getQuestion ()
+  {
+    if (html==null)
+      html="<html>"+getStem()+
+        "<br> A. "+getChoice(0)+
+        "<br> B. "+getChoice(1)+
+        "<br> C. "+getChoice(2)+
+        "<br> D. "+getChoice(3)+"</html>";
+    return html;
+  }
+  /**
+   * Returns the question itself, without its choices.
+   * 
+   * @return String the question.
+   */
+  public String getStem ()
+  {
+    return strings.get(QUESTION);
+  }
+  /**
+   * Returns the number of the question's text in its StringTable. Questions with the
+   * same text have the same number, so it can be used to tell questions apart without
+   * reading their text.
+   * 
+   * @return int the number of the question's text.
+   */
+  public int getStemId ()
   {
     return QUESTION;
   }
   /**
-   * Assigns values to the question text and answer char.
+   * Returns one of the four choices.
+   * 
+   * If statements determine which choice to return.
+   * 
+   * @param index int the choice to return: 0 for A up to 3 for D.
+   * @return String the text of the choice.
+   */
+  public String getChoice (int index)
+  {
+    if (index==0)
+      return strings.get(A);
+    else if (index==1)
+      return strings.get(B);
+    else if (index==2)
+      return strings.get(C);
+    return strings.get(D);
+  }
+  /**
+   * Assigns values to the question text, its choices and the answer.
    *
-   * @param q String the text of the question
+   * @param q String the text of the question, without its choices.
+   * @param choices String[] the text of choices A, B, C and D.
    * @param ans char the answer to the quesiton (should 
    * be capital A, B, C or D.)
    */
-  public Question (String q,char ans)
+  public Question (String q,String[]choices,char ans)
+  {
+    StringTable table=StringTable.getShared();
+    strings=table;
+    ANSWER=(byte)(ans-'A');
+    QUESTION=table.intern(q);
+    A=table.intern(choices[0]);
+    B=table.intern(choices[1]);
+    C=table.intern(choices[2]);
+    D=table.intern(choices[3]);
+  }
+  /**
+   * Creates a question whose text is already in a StringTable.
+   * Used by QuestionStore for questions read from the compiled bank.
+   *
+   * @param strings StringTable the table the text numbers refer to.
+   * @param q int the number of the question's text.
+   * @param a int the number of choice A.
+   * @param b int the number of choice B.
+   * @param c int the number of choice C.
+   * @param d int the number of choice D.
+   * @param ans byte the answer: 0, 1, 2 or 3 for A, B, C or D.
+   */
+  Question (StringTable strings,int q,int a,int b,int c,int d,byte ans)
   {
+    this.strings=strings;
     ANSWER=ans;
     QUESTION=q;
+    A=a;
+    B=b;
+    C=c;
+    D=d;
   }
-  /* ADD YOUR CODE HERE */
   
 }
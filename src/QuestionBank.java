@@ -0,0 +1,228 @@
+import java.io.*;
+import java.util.*;
+/**
+ * Reads the countries, clues and questions of the game from the question bank files,
+ * one country at a time, and hands each Country to a listener as soon as it has been read.
+ *
+ * The bank is written by hand in files/questions.txt and compiled into files/questions.bin
+ * by QuestionBankCompiler. The compiled file is used whenever it was compiled from the text
+ * file as it is now (its header records the text file's length and checksum), in which case
+ * the questions stay in the memory-mapped file (see QuestionStore); otherwise the text file is
+ * read directly.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class QuestionBank
+{
+  /**
+   * Receives each country as soon as it has been read.
+   */
+  public interface CountryListener
+  {
+    /**
+     * Called once for every country in the bank, in the order they appear.
+     *
+     * @param c Country the country which was just read.
+     */
+    void country (Country c);
+  }
+  /**
+   * The version of the text format.
+   */
+  public static final int VERSION = 1;
+  /**
+   * The location of the hand-written question bank.
+   */
+  public static final String TEXT_PATH = "files/questions.txt";
+  /**
+   * The location of the compiled question bank.
+   */
+  public static final String BINARY_PATH = "files/questions.bin";
+  /**
+   * The names of the difficulties, as they are written in the text file.
+   */
+  public static final String[] DIFFICULTIES = {"easy", "medium", "hard"};
+  /**
+   * Reads the game's question bank, using the compiled file if it was compiled from the
+   * text file as it is now (or there is no text file).
+   *
+   * If statement checks whether the compiled file can be used.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> text </b> File - the hand-written bank.
+   * <p>
+   * <b> binary </b> File - the compiled bank.
+   *
+   * @param listener CountryListener receives each country as it is read.
+   * @throws IOException if the bank could not be read.
+   */
+  public static void load (CountryListener listener) throws IOException
+  {
+    File text = new File (TEXT_PATH);
+    File binary = new File (BINARY_PATH);
+    if (binary.isFile () && (!text.isFile () || QuestionStore.compiledFrom (binary, text)))
+      QuestionStore.read (binary, listener);
+    else
+      readText (text, listener);
+  }
+  /**
+   * Reads a hand-written bank. Each country is handed to the listener as soon as the
+   * next country (or the end of the file) is reached.
+   *
+   * For loops turn each difficulty's raw questions into Question objects.
+   *
+   * @param file File the hand-written bank.
+   * @param listener CountryListener receives each country as it is read.
+   * @throws IOException if the file could not be read or has a mistake in it.
+   */
+  public static void readText (File file, final CountryListener listener) throws IOException
+  {
+    parse (file, new Builder ()
+    {
+      public void country (String name, String background, List<String> clues, List<List<String[]>> questions)
+      {
+        Question[][] built = new Question [DIFFICULTIES.length][];
+        for (int d = 0; d < DIFFICULTIES.length; d++)
+        {
+          built [d] = new Question [questions.get (d).size ()];
+          for (int x = 0; x < built [d].length; x++)
+          {
+            String[] q = questions.get (d).get (x);
+            built [d][x] = new Question (q [1], Arrays.copyOfRange (q, 2, 6), q [0].charAt (0));
+          }
+        }
+        listener.country (new Country (name, Arrays.asList (built [0]), Arrays.asList (built [1]),
+                                       Arrays.asList (built [2]), background,
+                                       clues.toArray (new String [clues.size ()])));
+      }
+    });
+  }
+  /**
+   * Receives the raw contents of each country in a hand-written bank.
+   * Used by the loader and by QuestionBankCompiler.
+   */
+  interface Builder
+  {
+    /**
+     * Called once for every country in the file.
+     *
+     * @param name String the country's name.
+     * @param background String the path of the country's background.
+     * @param clues List the country's clues.
+     * @param questions List for easy, medium and hard, the questions as
+     * {answer, question, choice A, choice B, choice C, choice D}.
+     * @throws IOException if the country could not be used.
+     */
+    void country (String name, String background, List<String> clues, List<List<String[]>> questions) throws IOException;
+  }
+  /**
+   * Reads a hand-written bank and passes each country to <code>builder</code>.
+   *
+   * While loop reads the file line by line.
+   * If statements determine what kind of line was read.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> lineNumber </b> int - the number of the line being read, for error messages.
+   * <p>
+   * <b> name </b> String - the name of the country being read, or null before the first country.
+   *
+   * @param file File the hand-written bank.
+   * @param builder Builder receives each country.
+   * @throws IOException if the file could not be read or has a mistake in it.
+   */
+  static void parse (File file, Builder builder) throws IOException
+  {
+    BufferedReader in = new BufferedReader (new InputStreamReader (new FileInputStream (file), "UTF-8"));
+    try
+    {
+      String name = null;
+      String background = null;
+      ArrayList<String> clues = new ArrayList<String> ();
+      ArrayList<List<String[]>> questions = newQuestionLists ();
+      int lineNumber = 0;
+      String line;
+      while ((line = in.readLine ()) != null)
+      {
+        lineNumber++;
+        line = line.trim ();
+        if (line.length () == 0 || line.startsWith ("#"))
+          continue;
+        String keyword = line.split (" ", 2) [0];
+        String rest = line.substring (keyword.length ()).trim ();
+        if (keyword.equals ("version"))
+        {
+          if (!rest.equals (Integer.toString (VERSION)))
+            throw new IOException (file + ":" + lineNumber + ": unsupported version " + rest);
+        }
+        else if (keyword.equals ("country"))
+        {
+          if (name != null)
+            finish (file, builder, name, background, clues, questions);
+          name = rest;
+          background = null;
+          clues = new ArrayList<String> ();
+          questions = newQuestionLists ();
+        }
+        else if (name == null)
+          throw new IOException (file + ":" + lineNumber + ": expected a country line");
+        else if (keyword.equals ("background"))
+          background = rest;
+        else if (keyword.equals ("clue"))
+          clues.add (rest);
+        else
+        {
+          int difficulty = Arrays.asList (DIFFICULTIES).indexOf (keyword);
+          String[] parts = rest.length () > 2 ? rest.substring (2).split ("\\|", -1) : new String [0];
+          if (difficulty < 0 || parts.length != 5 || "ABCD".indexOf (rest.charAt (0)) < 0 || rest.charAt (1) != ' ')
+            throw new IOException (file + ":" + lineNumber + ": not a valid question line");
+          String[] q = new String [6];
+          q [0] = rest.substring (0, 1);
+          for (int x = 0; x < 5; x++)
+            q [x + 1] = parts [x].trim ();
+          questions.get (difficulty).add (q);
+        }
+      }
+      if (name != null)
+        finish (file, builder, name, background, clues, questions);
+    }
+    finally
+    {
+      in.close ();
+    }
+  }
+  /**
+   * Checks that a country read from a hand-written bank is complete, and passes it on.
+   *
+   * If statement checks that the country has a background.
+   *
+   * @param file File the hand-written bank, for error messages.
+   * @param builder Builder receives the country.
+   * @param name String the country's name.
+   * @param background String the path of the country's background.
+   * @param clues List the country's clues.
+   * @param questions List the country's questions for each difficulty.
+   * @throws IOException if the country is missing its background.
+   */
+  private static void finish (File file, Builder builder, String name, String background,
+                              List<String> clues, List<List<String[]>> questions) throws IOException
+  {
+    if (background == null)
+      throw new IOException (file + ": country " + name + " has no background");
+    builder.country (name, background, clues, questions);
+  }
+  /**
+   * Returns an empty list of questions for each difficulty.
+   *
+   * @return ArrayList three empty lists.
+   */
+  private static ArrayList<List<String[]>> newQuestionLists ()
+  {
+    ArrayList<List<String[]>> lists = new ArrayList<List<String[]>> ();
+    for (int d = 0; d < DIFFICULTIES.length; d++)
+      lists.add (new ArrayList<String[]> ());
+    return lists;
+  }
+}
@@ -0,0 +1,156 @@
+import java.io.*;
+import java.util.*;
+/**
+ * Compiles the hand-written question bank into the binary form read by QuestionBank.
+ * Run this whenever files/questions.txt is changed:
+ * <p>
+ * <code>java QuestionBankCompiler [input] [output]</code>
+ * <p>
+ * With no arguments it compiles files/questions.txt into files/questions.bin.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class QuestionBankCompiler
+{
+  /**
+   * Compiles the question bank.
+   *
+   * If statements use the default files if none were given.
+   *
+   * @param args String[] the input file and the output file.
+   * @throws IOException if the bank could not be read or written.
+   */
+  public static void main (String[] args) throws IOException
+  {
+    String input = args.length > 0 ? args [0] : QuestionBank.TEXT_PATH;
+    String output = args.length > 1 ? args [1] : QuestionBank.BINARY_PATH;
+    int count = compile (new File (input), new File (output));
+    System.out.println ("Compiled " + count + " countries into " + output);
+  }
+  /**
+   * Reads a hand-written bank and writes it out in the compiled form read by QuestionStore.
+   * Each distinct string is written only once, and every question becomes a fixed-size
+   * record which refers to its strings by their offsets.
+   *
+   * For loops collect the countries and number their questions.
+   * For loops write the country section, the records and the strings.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> countries </b> ArrayList - each country's name, background, clues and questions.
+   * <p>
+   * <b> strings </b> LinkedHashMap - the offset of each distinct string in the string section.
+   * <p>
+   * <b> section </b> byte[] - the country section, written before its size is needed.
+   *
+   * @param input File the hand-written bank.
+   * @param output File the compiled bank to write.
+   * @return int the number of countries compiled.
+   * @throws IOException if the bank could not be read or written.
+   */
+  public static int compile (File input, File output) throws IOException
+  {
+    final ArrayList<Object[]> countries = new ArrayList<Object[]> ();
+    QuestionBank.parse (input, new QuestionBank.Builder ()
+    {
+      public void country (String name, String background, List<String> clues, List<List<String[]>> questions)
+      {
+        countries.add (new Object[] {name, background, clues, questions});
+      }
+    });
+    final LinkedHashMap<String, Integer> strings = new LinkedHashMap<String, Integer> ();
+    int stringBytes = 0;
+    int records = 0;
+    for (Object[] country : countries)
+      for (List<String[]> difficulty : questions (country))
+        for (String[] q : difficulty)
+        {
+          records++;
+          for (int x = 1; x < q.length; x++)
+            if (!strings.containsKey (q [x]))
+            {
+              strings.put (q [x], stringBytes);
+              stringBytes += 4 + q [x].getBytes ("UTF-8").length;
+            }
+        }
+    byte[] section = countrySection (countries, 0);
+    int recordStart = QuestionStore.HEADER + section.length;
+    section = countrySection (countries, recordStart);
+    int stringStart = recordStart + records * QuestionStore.RECORD;
+    
+    DataOutputStream out = new DataOutputStream (new BufferedOutputStream (new FileOutputStream (output)));
+    try
+    {
+      out.writeInt (QuestionStore.MAGIC);
+      out.writeInt (QuestionStore.VERSION);
+      out.writeInt (countries.size ());
+      out.writeInt (stringStart);
+      out.writeLong (input.length ());
+      out.writeLong (QuestionStore.checksum (input));
+      out.write (section);
+      for (Object[] country : countries)
+        for (List<String[]> difficulty : questions (country))
+          for (String[] q : difficulty)
+          {
+            out.writeByte (q [0].charAt (0) - 'A');
+            for (int x = 1; x < q.length; x++)
+              out.writeInt (strings.get (q [x]));
+          }
+      for (String s : strings.keySet ())
+      {
+        byte[] bytes = s.getBytes ("UTF-8");
+        out.writeInt (bytes.length);
+        out.write (bytes);
+      }
+    }
+    finally
+    {
+      out.close ();
+    }
+    return countries.size ();
+  }
+  /**
+   * Writes the country section of the compiled bank.
+   *
+   * For loops write each country's clues and where each difficulty's records start.
+   *
+   * @param countries List each country's name, background, clues and questions.
+   * @param recordStart int where the first question record will be in the file.
+   * @return byte[] the country section.
+   * @throws IOException if the section could not be written.
+   */
+  @SuppressWarnings ("unchecked")
+  private static byte[] countrySection (List<Object[]> countries, int recordStart) throws IOException
+  {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream ();
+    DataOutputStream out = new DataOutputStream (bytes);
+    for (Object[] country : countries)
+    {
+      out.writeUTF ((String) country [0]);
+      out.writeUTF ((String) country [1]);
+      List<String> clues = (List<String>) country [2];
+      out.writeInt (clues.size ());
+      for (String clue : clues)
+        out.writeUTF (clue);
+      for (List<String[]> difficulty : questions (country))
+      {
+        out.writeInt (difficulty.size ());
+        out.writeInt (recordStart);
+        recordStart += difficulty.size () * QuestionStore.RECORD;
+      }
+    }
+    return bytes.toByteArray ();
+  }
+  /**
+   * Returns the questions of a country collected by <code>compile</code>.
+   *
+   * @param country Object[] the country's name, background, clues and questions.
+   * @return List the country's questions for each difficulty.
+   */
+  @SuppressWarnings ("unchecked")
+  private static List<List<String[]>> questions (Object[] country)
+  {
+    return (List<List<String[]>>) country [3];
+  }
+}
@@ -0,0 +1,126 @@
+import java.util.*;
+/**
+ * Deals questions to a single game without repeating any of them. Each country and
+ * difficulty gets its own shuffled order, which is worked out one card at a time
+ * (a lazy Fisher-Yates shuffle), so drawing a question always takes the same time and
+ * the deck only remembers as many questions as have actually been drawn, however large
+ * the question bank is. Once every question of a country and difficulty has been drawn,
+ * that pile is shuffled again.
+ *
+ * Every deck has its own random number generator, so decks used by different games
+ * never wait on each other.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class QuestionDeck
+{
+  /**
+   * The shuffled order of one country's questions at one difficulty.
+   */
+  private class Pile
+  {
+    /**
+     * Holds the positions which have been swapped so far. Any position
+     * not in the map still holds its own number.
+     */
+    private final HashMap<Integer, Integer> swapped = new HashMap<Integer, Integer> ();
+    /**
+     * Holds the number of questions which have not been drawn yet.
+     */
+    private int remaining;
+    /**
+     * Returns the number of the next question in the pile, shuffling it again if it is empty.
+     *
+     * If statement shuffles the pile again once every question has been drawn.
+     *
+     * <b> Local Variables </b>
+     * <p>
+     * <b> pick </b> int - the position of the question being drawn.
+     * <p>
+     * <b> last </b> int - the last position which has not been drawn.
+     *
+     * @param size int the number of questions in the pile.
+     * @return int the number of the question drawn.
+     */
+    int draw (int size)
+    {
+      if (remaining == 0)
+      {
+        swapped.clear ();
+        remaining = size;
+      }
+      int pick = random.nextInt (remaining);
+      int last = remaining - 1;
+      int drawn = valueAt (pick);
+      if (pick != last)
+        swapped.put (pick, valueAt (last));
+      swapped.remove (last);
+      remaining--;
+      return drawn;
+    }
+    /**
+     * Returns the question number currently held at a position.
+     *
+     * @param position int the position in the pile.
+     * @return int the question number there.
+     */
+    private int valueAt (int position)
+    {
+      Integer value = swapped.get (position);
+      return value == null ? position : value;
+    }
+  }
+  /**
+   * Holds the piles of each country, one for each difficulty.
+   */
+  private final HashMap<Country, Pile[]> piles = new HashMap<Country, Pile[]> ();
+  /**
+   * The random number generator used by this deck only.
+   */
+  private final SplittableRandom random;
+  /**
+   * Draws the next question of the given country and difficulty. No question is drawn
+   * twice until every question of that country and difficulty has been drawn.
+   *
+   * If statement creates the country's piles the first time it is drawn from.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> questions </b> List - the questions of the country at this difficulty.
+   *
+   * @param country Country the country to draw from.
+   * @param difficulty int the difficulty: 0 easy, 1 medium, 2 hard.
+   * @return Question the question drawn.
+   */
+  public Question draw (Country country, int difficulty)
+  {
+    Pile[] p = piles.get (country);
+    if (p == null)
+    {
+      p = new Pile [QuestionBank.DIFFICULTIES.length];
+      for (int d = 0; d < p.length; d++)
+        p [d] = new Pile ();
+      piles.put (country, p);
+    }
+    List<Question> questions = country.getQuestions (difficulty);
+    return questions.get (p [difficulty].draw (questions.size ()));
+  }
+  /**
+   * Creates a deck with a newly seeded random number generator.
+   */
+  public QuestionDeck ()
+  {
+    this (new SplittableRandom ());
+  }
+  /**
+   * Creates a deck which uses the given random number generator
+   * (for example, a generator split from another one).
+   *
+   * @param random SplittableRandom the generator to use.
+   */
+  public QuestionDeck (SplittableRandom random)
+  {
+    this.random = random;
+  }
+}
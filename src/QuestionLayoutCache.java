@@ -0,0 +1,174 @@
+import javax.swing.*;
+import javax.swing.plaf.basic.*;
+import javax.swing.text.*;
+import java.awt.*;
+import java.util.*;
+/**
+ * Keeps the parsed HTML layout of each question shown on a label, so a question which is shown
+ * again (after a pause, for example) never has its HTML parsed again. Setting HTML text on a
+ * JLabel normally makes Swing parse it and build a tree of Views, and take apart the tree of
+ * the text shown before; this cache builds each tree once and gives it straight to the label,
+ * and takes the tree back from the label before the text changes, so Swing never takes apart
+ * a tree which is kept.
+ *
+ * The layouts of a country's questions are built ahead of time as soon as the country is
+ * entered, so they are usually ready before the first question is shown. Like everything else
+ * which touches a Swing component, they are built on the event dispatch thread: one layout per
+ * event, so clicks and repaints are handled in between. A question which is not ready yet is
+ * shown in the usual way, and its layout is kept for next time. Layouts are kept by the text
+ * they show, so the pause message is kept too. The cache is only used on the event dispatch
+ * thread.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class QuestionLayoutCache
+{
+  /**
+   * The client property which stops a label from parsing HTML while its text is set.
+   */
+  private static final String HTML_DISABLE = "html.disable";
+  /**
+   * The label the layouts are built for.
+   */
+  private final JLabel label;
+  /**
+   * Holds the layout of each text, by the text.
+   */
+  private final HashMap<String, View> layouts = new HashMap<String, View> ();
+  /**
+   * Holds the texts waiting for their layouts to be built, in order.
+   */
+  private final ArrayDeque<String> pending = new ArrayDeque<String> ();
+  /**
+   * Builds the layout of the next waiting text, and queues itself again if more are waiting.
+   */
+  private final Runnable buildNext = new Runnable ()
+  {
+    public void run ()
+    {
+      checkFont ();
+      String text = pending.poll ();
+      if (text != null && !layouts.containsKey (text))
+        layouts.put (text, BasicHTML.createHTMLView (label, text));
+      if (!pending.isEmpty ())
+        SwingUtilities.invokeLater (this);
+    }
+  };
+  /**
+   * Holds the font the layouts were built with.
+   */
+  private Font font;
+  /**
+   * Holds the number of texts shown with a cached layout, and without one.
+   */
+  private int hits, misses;
+  /**
+   * Queues the layouts of <code>questions</code> to be built one at a time on the event
+   * dispatch thread, skipping those which are already cached.
+   *
+   * For loop goes through each question.
+   * If statement checks if the question is already cached.
+   * If statement starts building if nothing was waiting.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> idle </b> boolean - whether no layouts were waiting to be built.
+   *
+   * @param questions List the questions to prepare.
+   */
+  public void prefetch (java.util.List<Question> questions)
+  {
+    checkFont ();
+    boolean idle = pending.isEmpty ();
+    for (Question q : questions)
+    {
+      String text = q.getQuestion ();
+      if (layouts.containsKey (text) || !BasicHTML.isHTMLString (text))
+        continue;
+      pending.add (text);
+    }
+    if (idle && !pending.isEmpty ())
+      SwingUtilities.invokeLater (buildNext);
+  }
+  /**
+   * Shows <code>text</code> on the label. If the text is HTML, the label is given its cached
+   * layout (building and caching it first if there is none) instead of parsing the text.
+   * Only called on the event dispatch thread.
+   *
+   * If statement checks if the text is HTML.
+   * If statement builds the layout if it is not cached, or if Swing has taken it apart
+   * (which happens if the label's colour changes while it is shown).
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> layout </b> View - the layout of the text.
+   *
+   * @param text String the text to show.
+   */
+  public void show (String text)
+  {
+    checkFont ();
+    label.putClientProperty (BasicHTML.propertyKey, null);
+    if (!BasicHTML.isHTMLString (text))
+    {
+      label.setText (text);
+      return;
+    }
+    View layout = layouts.get (text);
+    if (layout == null || layout.getView (0).getParent () != layout)
+    {
+      misses++;
+      layout = BasicHTML.createHTMLView (label, text);
+      layouts.put (text, layout);
+    }
+    else
+      hits++;
+    label.putClientProperty (HTML_DISABLE, Boolean.TRUE);
+    label.setText (text);
+    label.putClientProperty (HTML_DISABLE, null);
+    label.putClientProperty (BasicHTML.propertyKey, layout);
+  }
+  /**
+   * Forgets every layout if the label's font has changed, since they were built with the old one.
+   * Layouts still waiting to be built will be built with the new font.
+   *
+   * If statement checks if the font has changed.
+   */
+  private void checkFont ()
+  {
+    Font now = label.getFont ();
+    if (!now.equals (font))
+    {
+      layouts.clear ();
+      font = now;
+    }
+  }
+  /**
+   * Returns the number of texts shown with a cached layout.
+   *
+   * @return int the number of hits.
+   */
+  public int getHits ()
+  {
+    return hits;
+  }
+  /**
+   * Returns the number of HTML texts which had to be parsed when they were shown.
+   *
+   * @return int the number of misses.
+   */
+  public int getMisses ()
+  {
+    return misses;
+  }
+  /**
+   * Creates an empty cache for a label.
+   *
+   * @param label JLabel the label the layouts are shown on.
+   */
+  public QuestionLayoutCache (JLabel label)
+  {
+    this.label = label;
+  }
+}
@@ -0,0 +1,270 @@
+import java.io.*;
+import java.lang.ref.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.zip.*;
+/**
+ * Reads the compiled question bank (files/questions.bin) through a memory map, so the
+ * questions themselves never have to be loaded onto the heap. Every question is a
+ * fixed-size record, and each country keeps only where its records start and how many
+ * there are for each difficulty, so any question can be found in constant time no matter
+ * how large the bank is. A Question object is only made when a question is drawn, and is
+ * then held softly so its rendered text is kept until memory runs short.
+ *
+ * <p>
+ * <b> Compiled format </b> (big-endian)
+ * <ul>
+ * <li> int - the magic number <code>MAGIC</code>
+ * <li> int - the format version
+ * <li> int - the number of countries
+ * <li> int - where the string section starts
+ * <li> long - the length of the text file the bank was compiled from
+ * <li> long - the CRC-32 checksum of that text file
+ * <li> for each country: UTF name, UTF background path, int number of clues, each clue as UTF,
+ * then for easy, medium and hard: int number of questions, int where their records start
+ * <li> the question records: byte answer (0 to 3), then int string offsets of the question
+ * and of choices A, B, C and D
+ * <li> the string section: each distinct string once, as an int length and its UTF-8 bytes
+ * </ul>
+ *
+ * The file is written by QuestionBankCompiler.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class QuestionStore
+{
+  /**
+   * Identifies a file as a compiled question bank ("SGQB").
+   */
+  public static final int MAGIC = 0x53475142;
+  /**
+   * The version of the compiled format.
+   */
+  public static final int VERSION = 3;
+  /**
+   * The number of bytes in the header.
+   */
+  public static final int HEADER = 32;
+  /**
+   * The number of bytes in each question record.
+   */
+  public static final int RECORD = 1 + 5 * 4;
+  /**
+   * Holds the whole compiled bank, mapped into memory.
+   */
+  private final ByteBuffer map;
+  /**
+   * Reads strings out of the string section of the map.
+   */
+  private final StringTable strings;
+  /**
+   * Returns whether a compiled bank was compiled from a text file as it is now, by comparing
+   * the length and checksum in the compiled bank's header with the text file's.
+   *
+   * Try block reads the header.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> in </b> DataInputStream - reads the header of the compiled bank.
+   *
+   * @param binary File the compiled bank.
+   * @param text File the hand-written bank.
+   * @return boolean true if the compiled bank matches the text file.
+   * @throws IOException if either file could not be read.
+   */
+  public static boolean compiledFrom (File binary, File text) throws IOException
+  {
+    DataInputStream in = new DataInputStream (new BufferedInputStream (new FileInputStream (binary)));
+    try
+    {
+      if (in.readInt () != MAGIC || in.readInt () != VERSION)
+        return false;
+      in.readInt ();
+      in.readInt ();
+      return in.readLong () == text.length () && in.readLong () == checksum (text);
+    }
+    catch (EOFException e)
+    {
+      return false;
+    }
+    finally
+    {
+      in.close ();
+    }
+  }
+  /**
+   * Returns the CRC-32 checksum of a file.
+   *
+   * Try block reads the file.
+   * While loop adds each block of the file to the checksum.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> crc </b> CRC32 - the checksum.
+   * <p>
+   * <b> block </b> byte[] - the bytes read from the file.
+   *
+   * @param file File the file.
+   * @return long the checksum.
+   * @throws IOException if the file could not be read.
+   */
+  public static long checksum (File file) throws IOException
+  {
+    CRC32 crc = new CRC32 ();
+    byte[] block = new byte [8192];
+    InputStream in = new FileInputStream (file);
+    try
+    {
+      int n;
+      while ((n = in.read (block)) > 0)
+        crc.update (block, 0, n);
+    }
+    finally
+    {
+      in.close ();
+    }
+    return crc.getValue ();
+  }
+  /**
+   * Opens and maps a compiled bank, and hands each of its countries to <code>listener</code>.
+   *
+   * If statement checks the magic number and version.
+   * For loops read each country's clues and question sections.
+   *
+   * @param file File the compiled bank.
+   * @param listener QuestionBank.CountryListener receives each country as it is read.
+   * @throws IOException if the file could not be read or is not a compiled bank.
+   */
+  public static void read (File file, QuestionBank.CountryListener listener) throws IOException
+  {
+    QuestionStore store = new QuestionStore (file);
+    DataInputStream in = new DataInputStream (AssetPack.stream (store.map));
+    if (in.readInt () != MAGIC || in.readInt () != VERSION)
+      throw new IOException ("Not a compiled question bank: " + file);
+    int countries = in.readInt ();
+    in.readInt ();
+    in.readLong ();
+    in.readLong ();
+    for (int c = 0; c < countries; c++)
+    {
+      String name = in.readUTF ();
+      String background = in.readUTF ();
+      String[] clues = new String [in.readInt ()];
+      for (int x = 0; x < clues.length; x++)
+        clues [x] = in.readUTF ();
+      ArrayList<List<Question>> questions = new ArrayList<List<Question>> ();
+      for (int d = 0; d < QuestionBank.DIFFICULTIES.length; d++)
+      {
+        int count = in.readInt ();
+        int start = in.readInt ();
+        if (count < 0 || start < HEADER || start + (long) count * RECORD > store.map.capacity ())
+          throw new IOException ("Corrupt question bank: " + file);
+        questions.add (store.new Section (start, count));
+      }
+      listener.country (new Country (name, questions.get (0), questions.get (1), questions.get (2), background, clues));
+    }
+  }
+  /**
+   * The questions of one country at one difficulty, read straight from the map.
+   */
+  private class Section extends AbstractList<Question> implements RandomAccess
+  {
+    /**
+     * Where the first record starts.
+     */
+    private final int start;
+    /**
+     * The number of records.
+     */
+    private final int count;
+    /**
+     * Holds the questions already made, by number, so each keeps its rendered text between draws.
+     */
+    private final HashMap<Integer, SoftReference<Question>> made = new HashMap<Integer, SoftReference<Question>> ();
+    /**
+     * Returns the question with the given number, reading it from the map unless it was
+     * made before and is still held.
+     *
+     * If statement checks that the number is in range.
+     * If statement reads the question if it is not held.
+     *
+     * <b> Local Variables </b>
+     * <p>
+     * <b> held </b> SoftReference - the question made before, or null.
+     * <p>
+     * <b> q </b> Question - the question.
+     *
+     * @param index int the number of the question.
+     * @return Question the question.
+     */
+    public synchronized Question get (int index)
+    {
+      if (index < 0 || index >= count)
+        throw new IndexOutOfBoundsException ("Question " + index + " of " + count);
+      SoftReference<Question> held = made.get (index);
+      Question q = held == null ? null : held.get ();
+      if (q == null)
+      {
+        int at = start + index * RECORD;
+        q = new Question (strings, map.getInt (at + 1), map.getInt (at + 5), map.getInt (at + 9),
+                          map.getInt (at + 13), map.getInt (at + 17), map.get (at));
+        made.put (index, new SoftReference<Question> (q));
+      }
+      return q;
+    }
+    /**
+     * Returns the number of questions.
+     *
+     * @return int the number of questions.
+     */
+    public int size ()
+    {
+      return count;
+    }
+    /**
+     * Creates a section.
+     *
+     * @param start int where the first record starts.
+     * @param count int the number of records.
+     */
+    Section (int start, int count)
+    {
+      this.start = start;
+      this.count = count;
+    }
+  }
+  /**
+   * Opens and maps a compiled bank.
+   *
+   * @param file File the compiled bank.
+   * @throws IOException if the file could not be read.
+   */
+  private QuestionStore (File file) throws IOException
+  {
+    RandomAccessFile raf = new RandomAccessFile (file, "r");
+    try
+    {
+      FileChannel channel = raf.getChannel ();
+      map = channel.map (FileChannel.MapMode.READ_ONLY, 0, channel.size ());
+    }
+    finally
+    {
+      raf.close ();
+    }
+    final int base = map.getInt (12);
+    strings = new StringTable ()
+    {
+      public String get (int n)
+      {
+        ByteBuffer b = map.duplicate ();
+        b.position (base + n);
+        int length = b.getInt ();
+        b.limit (b.position () + length);
+        return StandardCharsets.UTF_8.decode (b).toString ();
+      }
+    };
+  }
+}
@@ -0,0 +1,232 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.*;
+/**
+ * A RepaintManager which records every region of the screen asked to be repainted, and every
+ * component asked to be laid out again, and can draw them over the game panel. Each region
+ * is outlined for one second after it is repainted, and the number of repaints, the area
+ * repainted and the number of layouts in the last second are shown in the corner. When the
+ * game is sitting idle, the only region should be the timer label, once a second.
+ *
+ * The tracker is turned on with <code>-Dscarletgem.repaints=true</code>. Redrawing the
+ * overlay itself is not recorded.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class RepaintTracker extends RepaintManager implements ActionListener
+{
+  /**
+   * How long each region is kept, in nanoseconds.
+   */
+  private static final long WINDOW = 1000000000L;
+  /**
+   * The size of the box which shows the counts.
+   */
+  private static final int BOX_WIDTH = 260, BOX_HEIGHT = 20;
+  /**
+   * The tracker shared by the whole game, or null if it is turned off.
+   */
+  private static RepaintTracker shared;
+  /**
+   * Whether the game has already checked if the tracker is turned on.
+   */
+  private static boolean checked;
+  /**
+   * A region which was repainted.
+   */
+  private static class Region
+  {
+    /**
+     * The time (from System.nanoTime) the region was repainted.
+     */
+    final long time;
+    /**
+     * The region, in the coordinates of its window.
+     */
+    final Rectangle bounds;
+    /**
+     * Creates a record of a repainted region.
+     *
+     * @param time long the time it was repainted.
+     * @param bounds Rectangle the region.
+     */
+    Region (long time, Rectangle bounds)
+    {
+      this.time = time;
+      this.bounds = bounds;
+    }
+  }
+  /**
+   * Holds the regions repainted in the last second, oldest first.
+   */
+  private final ArrayDeque<Region> regions = new ArrayDeque<Region> ();
+  /**
+   * Holds the times of the layouts asked for in the last second, oldest first.
+   */
+  private final ArrayDeque<Long> layouts = new ArrayDeque<Long> ();
+  /**
+   * Holds the panel the overlay is drawn on, or null if there is none.
+   */
+  private JComponent overlay;
+  /**
+   * Redraws the overlay once a second, so old regions disappear and the counts change.
+   */
+  private final javax.swing.Timer refresh = new javax.swing.Timer (1000, this);
+  /**
+   * Returns the tracker shared by the whole game, or null if it is turned off. The first time
+   * it is called with the tracker turned on, it installs the tracker as the RepaintManager.
+   *
+   * @return RepaintTracker the shared tracker, or null.
+   */
+  public static synchronized RepaintTracker getShared ()
+  {
+    if (!checked)
+    {
+      checked = true;
+      if (Boolean.getBoolean ("scarletgem.repaints"))
+      {
+        shared = new RepaintTracker ();
+        RepaintManager.setCurrentManager (shared);
+      }
+    }
+    return shared;
+  }
+  /**
+   * Records a region to be repainted, then passes it on. Repaints of components which are
+   * not in a window are not recorded, since they never reach the screen.
+   *
+   * If statement checks that the component is in a window.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> root </b> Component - the window holding the component.
+   *
+   * @param c JComponent the component to repaint.
+   * @param x int the left of the region.
+   * @param y int the top of the region.
+   * @param w int the width of the region.
+   * @param h int the height of the region.
+   */
+  public void addDirtyRegion (JComponent c, int x, int y, int w, int h)
+  {
+    Component root = SwingUtilities.getRoot (c);
+    if (root != null && w > 0 && h > 0)
+    {
+      Rectangle r = SwingUtilities.convertRectangle (c, new Rectangle (x, y, w, h), root);
+      synchronized (this)
+      {
+        regions.add (new Region (System.nanoTime (), r));
+      }
+    }
+    super.addDirtyRegion (c, x, y, w, h);
+  }
+  /**
+   * Records a component to be laid out again, then passes it on.
+   *
+   * @param c JComponent the component to lay out.
+   */
+  public void addInvalidComponent (JComponent c)
+  {
+    synchronized (this)
+    {
+      layouts.add (System.nanoTime ());
+    }
+    super.addInvalidComponent (c);
+  }
+  /**
+   * Draws the overlay on <code>panel</code> from now on.
+   *
+   * @param panel JComponent the panel to draw on.
+   */
+  public void setOverlay (JComponent panel)
+  {
+    overlay = panel;
+    refresh.start ();
+  }
+  /**
+   * Outlines each region repainted in the last second, and shows the counts. Called at the end
+   * of the panel's paint method.
+   *
+   * For loop outlines each region.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> root </b> Component - the window holding the panel.
+   * <p>
+   * <b> area </b> long - the total area repainted in the last second, in pixels.
+   *
+   * @param g Graphics the graphics context the panel was painted with.
+   * @param panel JComponent the panel being painted.
+   */
+  public synchronized void paintOverlay (Graphics g, JComponent panel)
+  {
+    Component root = SwingUtilities.getRoot (panel);
+    if (root == null)
+      return;
+    prune ();
+    long area = 0;
+    g.setColor (Color.RED);
+    for (Region region : regions)
+    {
+      Rectangle r = SwingUtilities.convertRectangle (root, region.bounds, panel);
+      g.drawRect (r.x, r.y, r.width - 1, r.height - 1);
+      area += (long) region.bounds.width * region.bounds.height;
+    }
+    g.setColor (new Color (0, 0, 0, 160));
+    g.fillRect (0, panel.getHeight () - BOX_HEIGHT, BOX_WIDTH, BOX_HEIGHT);
+    g.setColor (Color.WHITE);
+    g.drawString (regions.size () + " repaints/s, " + area + " px/s, " + layouts.size () + " layouts/s",
+                  5, panel.getHeight () - 6);
+  }
+  /**
+   * Forgets the regions and layouts older than a second.
+   *
+   * While loops remove the old records.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> oldest </b> long - the time of the oldest record kept.
+   */
+  private void prune ()
+  {
+    long oldest = System.nanoTime () - WINDOW;
+    while (!regions.isEmpty () && regions.peek ().time < oldest)
+      regions.poll ();
+    while (!layouts.isEmpty () && layouts.peek () < oldest)
+      layouts.poll ();
+  }
+  /**
+   * Redraws the outlines and the counts, without recording it as a repaint. Called once a
+   * second by the refresh timer.
+   *
+   * If statement checks that the overlay is on a window.
+   * For loop redraws each outline.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> panel </b> JComponent - the panel the overlay is drawn on.
+   * <p>
+   * <b> root </b> Component - the window holding the panel.
+   *
+   * @param e ActionEvent the timer's event.
+   */
+  public void actionPerformed (ActionEvent e)
+  {
+    JComponent panel = overlay;
+    Component root = panel == null ? null : SwingUtilities.getRoot (panel);
+    if (root == null)
+      return;
+    ArrayList<Rectangle> outlines = new ArrayList<Rectangle> ();
+    synchronized (this)
+    {
+      for (Region region : regions)
+        outlines.add (SwingUtilities.convertRectangle (root, region.bounds, panel));
+      prune ();
+    }
+    for (Rectangle r : outlines)
+      super.addDirtyRegion (panel, r.x, r.y, r.width, r.height);
+    super.addDirtyRegion (panel, 0, panel.getHeight () - BOX_HEIGHT, BOX_WIDTH, BOX_HEIGHT);
+  }
+}
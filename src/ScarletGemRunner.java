@@ -9,12 +9,14 @@
 public class ScarletGemRunner {
   
   /**
-   * Calls the defauls ScarletGemMain constructor.
+   * Calls the defauls ScarletGemMain constructor, after starting the event dispatch
+   * thread watchdog if it is turned on.
    * 
    * @param args String[] the command-line arguments
    */
   public static void main (String[]args)
   {
+    EdtWatchdog.getShared();
     new ScarletGemMain();
   }
   
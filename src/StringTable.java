@@ -0,0 +1,82 @@
+import java.util.*;
+/**
+ * Holds one copy of every distinct piece of question text in the game. Each string is
+ * stored once and is referred to everywhere else by its number in the table, so text which
+ * repeats across questions and countries (such as common answer choices) only takes up
+ * memory once.
+ *
+ * QuestionStore overrides <code>get</code> to read strings out of the memory-mapped
+ * question bank instead.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class StringTable
+{
+  /**
+   * The table shared by every Question in the game.
+   */
+  private static final StringTable SHARED = new StringTable ();
+  /**
+   * Holds the number of each string in the table.
+   */
+  private final HashMap<String, Integer> numbers = new HashMap<String, Integer> ();
+  /**
+   * Holds the strings in the table, by number.
+   */
+  private String[] strings = new String [256];
+  /**
+   * Holds the number of strings in the table.
+   */
+  private int size;
+  /**
+   * Returns the table shared by every Question in the game.
+   *
+   * @return StringTable the shared table.
+   */
+  public static StringTable getShared ()
+  {
+    return SHARED;
+  }
+  /**
+   * Returns the number of a string, adding it to the table if it is not already there.
+   *
+   * If statement adds the string if it is new.
+   * If statement makes the table larger when it is full.
+   *
+   * @param s String the string to look up.
+   * @return int the number of the string in the table.
+   */
+  public synchronized int intern (String s)
+  {
+    Integer n = numbers.get (s);
+    if (n == null)
+    {
+      if (size == strings.length)
+        strings = Arrays.copyOf (strings, size * 2);
+      n = size;
+      strings [size++] = s;
+      numbers.put (s, n);
+    }
+    return n;
+  }
+  /**
+   * Returns the string with the given number.
+   *
+   * @param n int the number of the string.
+   * @return String the string.
+   */
+  public synchronized String get (int n)
+  {
+    return strings [n];
+  }
+  /**
+   * Returns the number of distinct strings added to the table.
+   *
+   * @return int the size of the table.
+   */
+  public synchronized int size ()
+  {
+    return size;
+  }
+}
@@ -0,0 +1,253 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+/**
+ * Runs timed tasks for every game in the program on a single thread, using a hashed timer
+ * wheel. The wheel is a ring of <code>WHEEL_SIZE</code> slots, each covering
+ * <code>TICK_MILLIS</code> milliseconds; a task is put in the slot its deadline falls in,
+ * along with the number of whole turns of the wheel still to wait. Scheduling and cancelling
+ * a task both take constant time however many tasks there are, so any number of game clocks
+ * can share one thread instead of each game having a thread of its own.
+ *
+ * The wheel is turned by a ScheduledExecutorService. Tasks scheduled from other threads wait
+ * in a queue until the next turn, and cancelled tasks are simply skipped when their slot
+ * comes up. Tasks run on the timer thread, so they should be short.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class TimerService
+{
+  /**
+   * The number of milliseconds covered by each slot of the wheel.
+   */
+  public static final long TICK_MILLIS = 10;
+  /**
+   * The number of slots in the wheel (a power of two).
+   */
+  public static final int WHEEL_SIZE = 512;
+  /**
+   * The service shared by the whole program.
+   */
+  private static TimerService shared;
+  /**
+   * A task scheduled on the wheel, which can be cancelled until it runs.
+   */
+  public static class Timeout
+  {
+    /**
+     * The states of a timeout.
+     */
+    private static final int WAITING = 0, CANCELLED = 1, EXPIRED = 2;
+    /**
+     * The task to run.
+     */
+    private final Runnable task;
+    /**
+     * The tick (counted from when the service started) on which the task is due.
+     */
+    private final long deadline;
+    /**
+     * Holds the number of turns of the wheel left before the task is due.
+     */
+    private long rounds;
+    /**
+     * Holds WAITING, CANCELLED or EXPIRED.
+     */
+    private final AtomicInteger state = new AtomicInteger (WAITING);
+    /**
+     * Stops the task from running, unless it has already started.
+     *
+     * @return boolean true only if this call stopped the task.
+     */
+    public boolean cancel ()
+    {
+      return state.compareAndSet (WAITING, CANCELLED);
+    }
+    /**
+     * Returns true only if the task was cancelled before it ran.
+     *
+     * @return boolean true only if the task was cancelled.
+     */
+    public boolean isCancelled ()
+    {
+      return state.get () == CANCELLED;
+    }
+    /**
+     * Creates a timeout.
+     *
+     * @param task Runnable the task to run.
+     * @param deadline long the tick on which it is due.
+     */
+    Timeout (Runnable task, long deadline)
+    {
+      this.task = task;
+      this.deadline = deadline;
+    }
+  }
+  /**
+   * Turns the wheel.
+   */
+  private final ScheduledExecutorService executor;
+  /**
+   * The time (from System.nanoTime) at which the service started.
+   */
+  private final long start = System.nanoTime ();
+  /**
+   * Holds the tasks in each slot. Only used by the timer thread.
+   */
+  private final ArrayList<ArrayList<Timeout>> wheel = new ArrayList<ArrayList<Timeout>> ();
+  /**
+   * Holds tasks which have been scheduled but not yet put on the wheel.
+   */
+  private final ConcurrentLinkedQueue<Timeout> incoming = new ConcurrentLinkedQueue<Timeout> ();
+  /**
+   * Holds the next tick to be processed. Only used by the timer thread.
+   */
+  private long tick;
+  /**
+   * Holds the number of tasks waiting, including ones still in the queue.
+   */
+  private final AtomicInteger pending = new AtomicInteger ();
+  /**
+   * Returns the service shared by the whole program.
+   *
+   * @return TimerService the shared service.
+   */
+  public static synchronized TimerService getShared ()
+  {
+    if (shared == null)
+      shared = new TimerService ();
+    return shared;
+  }
+  /**
+   * Runs <code>task</code> on the timer thread once <code>delay</code> has passed. The task may
+   * run up to <code>TICK_MILLIS</code> late, but never early.
+   *
+   * @param task Runnable the task to run.
+   * @param delay long how long to wait.
+   * @param unit TimeUnit the unit of <code>delay</code>.
+   * @return Timeout the scheduled task, which can be used to cancel it.
+   */
+  public Timeout schedule (Runnable task, long delay, TimeUnit unit)
+  {
+    long tickNanos = TimeUnit.MILLISECONDS.toNanos (TICK_MILLIS);
+    long due = System.nanoTime () - start + Math.max (0, unit.toNanos (delay));
+    Timeout t = new Timeout (task, (due + tickNanos - 1) / tickNanos);
+    pending.incrementAndGet ();
+    incoming.add (t);
+    return t;
+  }
+  /**
+   * Returns the number of tasks which have not run or been skipped yet.
+   *
+   * @return int the number of waiting tasks.
+   */
+  public int getPending ()
+  {
+    return pending.get ();
+  }
+  /**
+   * Processes every tick up to the present time. Called by the executor every tick; if it
+   * is late, it catches up on all the ticks it missed.
+   *
+   * While loop processes each tick which is due.
+   * For loop goes through the tasks in the tick's slot.
+   * If statements decide whether each task is skipped, kept for a later turn, or run.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> now </b> long - the current tick.
+   * <p>
+   * <b> kept </b> int - the number of tasks left in the slot.
+   */
+  private void advance ()
+  {
+    long now = (System.nanoTime () - start) / TimeUnit.MILLISECONDS.toNanos (TICK_MILLIS);
+    while (tick <= now)
+    {
+      place ();
+      ArrayList<Timeout> slot = wheel.get ((int) (tick & (WHEEL_SIZE - 1)));
+      int kept = 0;
+      for (int x = 0; x < slot.size (); x++)
+      {
+        Timeout t = slot.get (x);
+        if (t.state.get () == Timeout.CANCELLED)
+          pending.decrementAndGet ();
+        else if (t.rounds > 0)
+        {
+          t.rounds--;
+          slot.set (kept++, t);
+        }
+        else if (t.state.compareAndSet (Timeout.WAITING, Timeout.EXPIRED))
+        {
+          pending.decrementAndGet ();
+          run (t);
+        }
+        else
+          pending.decrementAndGet ();
+      }
+      slot.subList (kept, slot.size ()).clear ();
+      tick++;
+    }
+  }
+  /**
+   * Moves the newly scheduled tasks onto the wheel. A task which is already due is put in
+   * the slot about to be processed.
+   *
+   * While loop takes each task from the queue.
+   */
+  private void place ()
+  {
+    Timeout t;
+    while ((t = incoming.poll ()) != null)
+    {
+      long due = Math.max (t.deadline, tick);
+      t.rounds = (due - tick) / WHEEL_SIZE;
+      wheel.get ((int) (due & (WHEEL_SIZE - 1))).add (t);
+    }
+  }
+  /**
+   * Runs a task, so that a task which throws an exception does not stop the wheel.
+   *
+   * @param t Timeout the task to run.
+   */
+  private static void run (Timeout t)
+  {
+    try
+    {
+      t.task.run ();
+    }
+    catch (RuntimeException e)
+    {
+      e.printStackTrace ();
+    }
+  }
+  /**
+   * Creates a timer service and starts its thread, which is a daemon
+   * so it does not keep the program running.
+   *
+   * For loop creates each slot of the wheel.
+   */
+  public TimerService ()
+  {
+    for (int x = 0; x < WHEEL_SIZE; x++)
+      wheel.add (new ArrayList<Timeout> ());
+    executor = Executors.newSingleThreadScheduledExecutor (new ThreadFactory ()
+    {
+      public Thread newThread (Runnable r)
+      {
+        Thread t = new Thread (r, "game-timer");
+        t.setDaemon (true);
+        return t;
+      }
+    });
+    executor.scheduleAtFixedRate (new Runnable ()
+    {
+      public void run ()
+      {
+        advance ();
+      }
+    }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+  }
+}
@@ -0,0 +1,269 @@
+import java.awt.event.*;
+/**
+ * Runs the change from one game screen to the next as a short animation, instead of making
+ * the event dispatch thread sleep. The game panel fades to black, the new screen is put in
+ * place while it is dark, and then it fades back in. Each frame is driven by a
+ * javax.swing.Timer, so the screen keeps painting and the timer label keeps counting while
+ * the transition runs. The animation follows System.nanoTime, so a late frame never makes
+ * the transition longer.
+ *
+ * The time from asking for a transition until the new screen is in place is recorded for
+ * every transition, along with its length and its longest frame. Run the program with
+ * <code>-Dscarletgem.transitions=true</code> to print them after each transition.
+ *
+ * @author Zachary Teper and Angela Zhu
+ * @version 1.1
+ */
+public class TransitionScheduler implements ActionListener
+{
+  /**
+   * The time between frames, in milliseconds (about 60 frames a second).
+   */
+  public static final int FRAME_MILLIS = 16;
+  /**
+   * The length of a whole transition, in milliseconds. The new screen is put in place halfway.
+   */
+  public static final int DURATION_MILLIS = 500;
+  /**
+   * The number of nanoseconds in a millisecond.
+   */
+  private static final long MILLISECOND = 1000000L;
+  /**
+   * Whether to print the timing of each transition.
+   */
+  private static final boolean LOG = Boolean.getBoolean ("scarletgem.transitions");
+  /**
+   * Drives the frames of the animation.
+   */
+  private final javax.swing.Timer timer = new javax.swing.Timer (FRAME_MILLIS, this);
+  /**
+   * Holds the panel being faded, or null if no transition is running.
+   */
+  private GamePanel panel;
+  /**
+   * Holds the change which puts the new screen in place.
+   */
+  private Runnable change;
+  /**
+   * Whether the change has been made yet.
+   */
+  private boolean changed;
+  /**
+   * Holds the number of the running transition. It changes whenever a transition starts or is
+   * cancelled, so a change which starts or cancels another transition is noticed.
+   */
+  private int generation;
+  /**
+   * Holds the time (from System.nanoTime) the running transition was asked for.
+   */
+  private long requested;
+  /**
+   * Holds the time of the last frame.
+   */
+  private long lastFrame;
+  /**
+   * Holds the time from asking for the running transition until its change was made.
+   */
+  private long latency;
+  /**
+   * Holds the longest time between two frames of the running transition.
+   */
+  private long longestFrame;
+  /**
+   * Holds the number of frames of the running transition.
+   */
+  private int frames;
+  /**
+   * Holds the number of transitions which have finished.
+   */
+  private int count;
+  /**
+   * Holds the total and longest times from asking for a transition until its change was made.
+   */
+  private long totalLatency, maxLatency;
+  /**
+   * Holds the total length of the finished transitions.
+   */
+  private long totalDuration;
+  /**
+   * Starts a transition on <code>panel</code>. <code>change</code> is run on the event dispatch
+   * thread once the panel has faded out. If another transition is running, it is finished
+   * straight away, so no screen is ever skipped.
+   *
+   * @param panel GamePanel the panel to fade.
+   * @param change Runnable puts the new screen in place.
+   */
+  public void start (GamePanel panel, Runnable change)
+  {
+    finish ();
+    if (this.panel != null)
+      return;
+    this.panel = panel;
+    this.change = change;
+    changed = false;
+    generation++;
+    requested = System.nanoTime ();
+    lastFrame = requested;
+    longestFrame = 0;
+    frames = 0;
+    timer.setInitialDelay (0);
+    timer.start ();
+  }
+  /**
+   * Makes the change of the running transition straight away, without animating the rest.
+   *
+   * If statement checks that the change has not been made yet.
+   * If statement checks that the change did not start or cancel a transition.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> number </b> int - the number of the transition being finished.
+   */
+  public void finish ()
+  {
+    if (panel == null)
+      return;
+    int number = generation;
+    if (!changed)
+      makeChange ();
+    if (number == generation)
+      done ();
+  }
+  /**
+   * Stops the running transition without making its change, for example when the game ends.
+   */
+  public void cancel ()
+  {
+    stopFrames ();
+    generation++;
+  }
+  /**
+   * Returns true if a transition is running.
+   *
+   * @return boolean true if a transition is running.
+   */
+  public boolean isRunning ()
+  {
+    return panel != null;
+  }
+  /**
+   * Draws the next frame: the panel gets darker until halfway, when the change is made, and
+   * then lighter until the end.
+   *
+   * If statement checks that a transition is running.
+   * If statement checks whether it is time to make the change.
+   * If statement checks that the change did not start or cancel a transition.
+   * If statement checks whether the transition has finished.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> now </b> long - the time of this frame.
+   * <p>
+   * <b> progress </b> double - how far through the transition this frame is, from 0 to 1.
+   * <p>
+   * <b> number </b> int - the number of the transition being drawn.
+   *
+   * @param e ActionEvent the timer's event.
+   */
+  public void actionPerformed (ActionEvent e)
+  {
+    if (panel == null)
+      return;
+    long now = System.nanoTime ();
+    longestFrame = Math.max (longestFrame, now - lastFrame);
+    lastFrame = now;
+    frames++;
+    double progress = (now - requested) / (double) (DURATION_MILLIS * MILLISECOND);
+    if (progress >= 0.5 && !changed)
+    {
+      int number = generation;
+      makeChange ();
+      if (number != generation)
+        return;
+    }
+    if (progress >= 1)
+      done ();
+    else
+      panel.setFade ((float) (1 - Math.abs (1 - 2 * progress)));
+  }
+  /**
+   * Makes the change of the running transition and records how long it took to get there.
+   */
+  private void makeChange ()
+  {
+    changed = true;
+    latency = System.nanoTime () - requested;
+    change.run ();
+  }
+  /**
+   * Finishes the running transition and records its timing.
+   *
+   * <b> Local Variables </b>
+   * <p>
+   * <b> duration </b> long - the length of the transition.
+   */
+  private void done ()
+  {
+    long duration = System.nanoTime () - requested;
+    stopFrames ();
+    count++;
+    totalLatency += latency;
+    maxLatency = Math.max (maxLatency, latency);
+    totalDuration += duration;
+    if (LOG)
+      System.out.println ("Transition: new screen after " + latency / MILLISECOND + " ms, finished in " +
+                          duration / MILLISECOND + " ms, " + frames + " frames (longest " +
+                          longestFrame / MILLISECOND + " ms)");
+  }
+  /**
+   * Stops the frames and clears the fade from the panel.
+   */
+  private void stopFrames ()
+  {
+    timer.stop ();
+    if (panel != null)
+      panel.setFade (0);
+    panel = null;
+    change = null;
+  }
+  /**
+   * Returns the number of transitions which have finished.
+   *
+   * @return int the number of finished transitions.
+   */
+  public int getCount ()
+  {
+    return count;
+  }
+  /**
+   * Returns the average time from asking for a transition until the new screen was in place.
+   *
+   * @return double the average latency in milliseconds.
+   */
+  public double getAverageLatency ()
+  {
+    if (count == 0)
+      return 0;
+    return totalLatency / (double) MILLISECOND / count;
+  }
+  /**
+   * Returns the longest time from asking for a transition until the new screen was in place.
+   *
+   * @return double the longest latency in milliseconds.
+   */
+  public double getMaxLatency ()
+  {
+    return maxLatency / (double) MILLISECOND;
+  }
+  /**
+   * Returns the average length of a whole transition.
+   *
+   * @return double the average length in milliseconds.
+   */
+  public double getAverageDuration ()
+  {
+    if (count == 0)
+      return 0;
+    return totalDuration / (double) MILLISECOND / count;
+  }
+}